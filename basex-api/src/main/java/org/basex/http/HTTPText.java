@@ -13,6 +13,16 @@ public interface HTTPText {
   String AUTHORIZATION = "Authorization";
   /** HTTP basic authentication. */
   String BASIC = "Basic";
+  /** HTTP header: Range. */
+  String RANGE = "Range";
+  /** HTTP header: Accept-Ranges. */
+  String ACCEPT_RANGES = "Accept-Ranges";
+  /** HTTP header: Content-Range. */
+  String CONTENT_RANGE = "Content-Range";
+  /** HTTP header: Content-Length. */
+  String CONTENT_LENGTH = "Content-Length";
+  /** Range unit. */
+  String BYTES = "bytes";
 
   /** HTTP String. */
   String HTTP = "HTTP";
@@ -0,0 +1,35 @@
+package org.basex.http.metrics;
+
+import static org.basex.core.Text.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.basex.server.*;
+import org.basex.util.*;
+import org.basex.util.metrics.*;
+
+/**
+ * <p>This servlet returns all runtime metrics in the Prometheus text format.
+ * Admin permissions are required.</p>
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class MetricsServlet extends BaseXServlet {
+  /** Content type of the Prometheus text format. */
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  @Override
+  protected void run(final HTTPContext http) throws IOException {
+    final Context ctx = http.authenticate();
+    if(!ctx.user.has(Perm.ADMIN)) throw new LoginException(PERM_REQUIRED_X, Perm.ADMIN);
+    if(http.method != HTTPMethod.GET) throw HTTPCode.NOT_IMPLEMENTED_X.get(http.req.getMethod());
+
+    http.res.setContentType(CONTENT_TYPE);
+    final OutputStream out = http.res.getOutputStream();
+    out.write(Token.token(Metrics.prometheus()));
+    out.flush();
+  }
+}
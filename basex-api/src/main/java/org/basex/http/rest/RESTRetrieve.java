@@ -1,13 +1,17 @@
 package org.basex.http.rest;
 
+import static org.basex.http.HTTPText.*;
 import static org.basex.query.func.Function.*;
 import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import javax.servlet.http.*;
+
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.http.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.query.func.*;
 import org.basex.query.value.node.*;
@@ -41,11 +45,13 @@ final class RESTRetrieve extends RESTCmd {
         final SerializerOptions sopts = http.sopts();
         sopts.set(SerializerOptions.METHOD, SerialMethod.RAW);
         sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
+        http.initResponse();
+        retrieve(http);
+      } else {
+        http.initResponse();
+        context.options.set(MainOptions.SERIALIZER, serial(http));
+        run(query(_DB_OPEN), http.res.getOutputStream());
       }
-      http.initResponse();
-
-      context.options.set(MainOptions.SERIALIZER, serial(http));
-      run(query(raw ? _DB_RETRIEVE : _DB_OPEN), http.res.getOutputStream());
 
     } else {
       // list database resources
@@ -61,6 +67,69 @@ final class RESTRetrieve extends RESTCmd {
     }
   }
 
+  /**
+   * Returns a binary resource. The file contents are directly passed on to the response;
+   * requests for a single byte range are supported.
+   * @param http HTTP context
+   * @throws IOException I/O exception
+   */
+  private void retrieve(final HTTPContext http) throws IOException {
+    final HttpServletResponse res = http.res;
+    final IOFile bin = context.data().meta.binary(http.dbpath());
+    final long size = bin == null ? 0 : bin.length();
+    long off = 0, len = -1;
+    res.setHeader(ACCEPT_RANGES, BYTES);
+
+    final String range = http.req.getHeader(RANGE);
+    final long[] r = range == null ? null : range(range, size);
+    if(r != null) {
+      if(r.length == 0) {
+        res.setHeader(CONTENT_RANGE, BYTES + " */" + size);
+        res.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      off = r[0];
+      len = r[1] - off + 1;
+      res.setHeader(CONTENT_RANGE, BYTES + ' ' + off + '-' + r[1] + '/' + size);
+      res.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    }
+    res.setHeader(CONTENT_LENGTH, Long.toString(len == -1 ? size : len));
+    run(new Retrieve(http.dbpath()).range(off, len), res.getOutputStream());
+  }
+
+  /**
+   * Parses a range header with a single range. Multiple ranges are ignored.
+   * @param range range header
+   * @param size size of the resource
+   * @return offsets of the first and last byte, an empty array if the range is not
+   *   satisfiable, or {@code null} if the header is ignored
+   */
+  static long[] range(final String range, final long size) {
+    if(!range.startsWith(BYTES + '=') || range.indexOf(',') != -1) return null;
+    final String spec = range.substring(BYTES.length() + 1).trim();
+    final int i = spec.indexOf('-');
+    if(i == -1) return null;
+    try {
+      final String first = spec.substring(0, i).trim(), last = spec.substring(i + 1).trim();
+      final long start, end;
+      if(first.isEmpty()) {
+        // suffix range: last bytes of the resource
+        final long l = Long.parseLong(last);
+        if(l <= 0) return new long[0];
+        start = Math.max(0, size - l);
+        end = size - 1;
+      } else {
+        start = Long.parseLong(first);
+        final long l = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+        if(l < start) return null;
+        end = Math.min(size - 1, l);
+      }
+      return start < size ? new long[] { start, end } : new long[0];
+    } catch(final NumberFormatException ex) {
+      return null;
+    }
+  }
+
   /**
    * Creates a query instance.
    * @param f function
@@ -5,7 +5,6 @@ import static org.basex.util.Token.*;
 
 import org.basex.http.*;
 import org.basex.io.*;
-import org.basex.io.out.*;
 import org.basex.io.serial.*;
 import org.basex.query.func.*;
 import org.basex.query.iter.*;
@@ -13,14 +12,17 @@ import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 
 /**
- * This class holds information on a custom RESTXQ response.
+ * This class holds information on a custom RESTXQ response. The response headers are
+ * assigned by this class, whereas the result items are directly streamed to the client.
  *
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
  */
 final class RestXqRespBuilder {
-  /** Output cache. */
-  final ArrayOutput cache = new ArrayOutput();
+  /** Serialization parameters. */
+  SerializerOptions sopts;
+  /** First result item (may be {@code null}). */
+  Item item;
   /** Show error. */
   boolean error;
   /** Status code. */
@@ -29,7 +31,8 @@ final class RestXqRespBuilder {
   String message;
 
   /**
-   * Builds a response element and creates the serialization parameters.
+   * Builds a response element, creates the serialization parameters and retrieves
+   * the first result item.
    * @param response response element
    * @param func function
    * @param iter result iterator
@@ -92,18 +95,15 @@ final class RestXqRespBuilder {
     if(cType != null) sp.set(SerializerOptions.MEDIA_TYPE, cType);
 
     // check next item
-    Item item = iter.next();
+    item = iter.next();
     if(item == null) {
       error = true;
     } else if(func.methods.size() == 1 && func.methods.contains(HTTPMethod.HEAD)) {
       throw func.error(HEAD_METHOD);
     }
 
-    // cache result
+    sopts = sp;
     http.sopts(sp);
     http.initResponse();
-    final Serializer ser = Serializer.get(cache, sp);
-    for(; item != null; item = iter.next()) ser.serialize(item);
-    ser.close();
   }
 }
@@ -65,12 +65,11 @@ final class RestXqResponse {
     query.context.register(query);
 
     String redirect = null, forward = null;
-    RestXqRespBuilder resp = null;
     try {
       // compile and evaluate query
       query.compile();
       final Iter iter = query.iter();
-      Item item = iter.next();
+      final Item item = iter.next();
 
       // handle response element
       if(item != null && item.type.isNode()) {
@@ -90,8 +89,11 @@ final class RestXqResponse {
           return;
         }
         if(REST_RESPONSE.eq(node)) {
-          resp = new RestXqRespBuilder();
+          // assign headers and status before the result is streamed
+          final RestXqRespBuilder resp = new RestXqRespBuilder();
           resp.build(node, function, iter, http);
+          if(resp.status != 0) http.status(resp.status, resp.message, resp.error);
+          serialize(resp.item, iter, resp.sopts);
           return;
         }
       }
@@ -104,9 +106,7 @@ final class RestXqResponse {
       final SerializerOptions sp = function.output;
       http.sopts(sp);
       http.initResponse();
-      final Serializer ser = Serializer.get(http.res.getOutputStream(), sp);
-      for(; item != null; item = iter.next()) ser.serialize(item);
-      ser.close();
+      serialize(item, iter, sp);
 
     } finally {
       query.close();
@@ -116,10 +116,26 @@ final class RestXqResponse {
         http.res.sendRedirect(redirect);
       } else if(forward != null) {
         http.req.getRequestDispatcher(forward).forward(http.req, http.res);
-      } else if(resp != null) {
-        if(resp.status != 0) http.status(resp.status, resp.message, resp.error);
-        http.res.getOutputStream().write(resp.cache.toArray());
       }
     }
   }
+
+  /**
+   * Streams the result items to the servlet output. Items are pulled from the iterator
+   * one by one; the servlet container sends chunks as soon as its buffer is full.
+   * @param first first item (may be {@code null})
+   * @param iter iterator with remaining items
+   * @param sp serialization parameters
+   * @throws Exception exception (including unexpected ones)
+   */
+  private void serialize(final Item first, final Iter iter, final SerializerOptions sp)
+      throws Exception {
+
+    final Serializer ser = Serializer.get(http.res.getOutputStream(), sp);
+    for(Item item = first; item != null; item = iter.next()) {
+      query.checkStop();
+      ser.serialize(item);
+    }
+    ser.close();
+  }
 }
@@ -247,11 +247,16 @@ public final class WebDAVService<T> {
   public void retrieve(final String db, final String path, final boolean raw,
       final OutputStream out) throws IOException {
 
-    session().setOutputStream(out);
-    final WebDAVQuery query = new WebDAVQuery(
-      "declare option output:" + (raw ?
-      "method 'raw'; " + _DB_RETRIEVE.args("$db", "$path") :
-      "use-character-maps 'webdav'; " + _DB_OPEN.args("$db", "$path")));
+    final LocalSession session = session();
+    session.setOutputStream(out);
+    if(raw) {
+      // binary resources are directly copied from the file system
+      session.execute(new Open(db));
+      session.execute(new Retrieve(path));
+      return;
+    }
+    final WebDAVQuery query = new WebDAVQuery("declare option output:" +
+      "use-character-maps 'webdav'; " + _DB_OPEN.args("$db", "$path"));
     query.bind("db", db);
     query.bind("path", path);
     execute(query);
@@ -0,0 +1,64 @@
+package org.basex.http.rest;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+/**
+ * This class tests the parsing of range headers.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class RESTRetrieveTest {
+  /** Size of the tested resource. */
+  private static final long SIZE = 1000;
+
+  /** Ranges with first and last byte. */
+  @Test
+  public void closed() {
+    assertArrayEquals(new long[] { 0, 499 }, RESTRetrieve.range("bytes=0-499", SIZE));
+    assertArrayEquals(new long[] { 500, 999 }, RESTRetrieve.range("bytes=500-999", SIZE));
+    assertArrayEquals(new long[] { 5, 5 }, RESTRetrieve.range("bytes= 5 - 5 ", SIZE));
+    // last byte exceeds resource
+    assertArrayEquals(new long[] { 900, 999 }, RESTRetrieve.range("bytes=900-5000", SIZE));
+  }
+
+  /** Open-ended ranges. */
+  @Test
+  public void open() {
+    assertArrayEquals(new long[] { 0, 999 }, RESTRetrieve.range("bytes=0-", SIZE));
+    assertArrayEquals(new long[] { 999, 999 }, RESTRetrieve.range("bytes=999-", SIZE));
+  }
+
+  /** Suffix ranges. */
+  @Test
+  public void suffix() {
+    assertArrayEquals(new long[] { 500, 999 }, RESTRetrieve.range("bytes=-500", SIZE));
+    assertArrayEquals(new long[] { 999, 999 }, RESTRetrieve.range("bytes=-1", SIZE));
+    // suffix exceeds resource
+    assertArrayEquals(new long[] { 0, 999 }, RESTRetrieve.range("bytes=-5000", SIZE));
+  }
+
+  /** Unsatisfiable ranges. */
+  @Test
+  public void unsatisfiable() {
+    assertEquals(0, RESTRetrieve.range("bytes=1000-", SIZE).length);
+    assertEquals(0, RESTRetrieve.range("bytes=1000-2000", SIZE).length);
+    assertEquals(0, RESTRetrieve.range("bytes=-0", SIZE).length);
+    assertEquals(0, RESTRetrieve.range("bytes=0-", 0).length);
+  }
+
+  /** Headers that are ignored. */
+  @Test
+  public void ignored() {
+    // multiple ranges
+    assertNull(RESTRetrieve.range("bytes=0-9,20-29", SIZE));
+    assertNull(RESTRetrieve.range("bytes=-5,0-1", SIZE));
+    // invalid ranges
+    assertNull(RESTRetrieve.range("bytes=10-5", SIZE));
+    assertNull(RESTRetrieve.range("bytes=a-b", SIZE));
+    assertNull(RESTRetrieve.range("bytes=5", SIZE));
+    assertNull(RESTRetrieve.range("items=0-9", SIZE));
+  }
+}
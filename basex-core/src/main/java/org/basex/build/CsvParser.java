@@ -2,7 +2,6 @@ package org.basex.build;
 
 import java.io.*;
 
-import org.basex.build.xml.*;
 import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.parse.csv.*;
@@ -17,15 +16,23 @@ import org.basex.io.parse.csv.*;
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
  */
-public final class CsvParser extends XMLParser {
+public final class CsvParser extends SingleParser {
+  /** Parser options. */
+  private final CsvParserOptions copts;
+
   /**
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public CsvParser(final IO source, final MainOptions opts) throws IOException {
-    super(toXML(source, opts.get(MainOptions.CSVPARSER)), opts);
+  public CsvParser(final IO source, final MainOptions opts) {
+    super(source, opts);
+    copts = opts.get(MainOptions.CSVPARSER);
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    new CsvBuilderConverter(copts, builder, options.get(MainOptions.CHOP)).convert(src);
   }
 
   /**
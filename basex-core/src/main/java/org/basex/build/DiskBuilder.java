@@ -4,6 +4,7 @@ import static org.basex.core.Text.*;
 import static org.basex.data.DataText.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.core.*;
 import org.basex.core.cmd.*;
@@ -15,6 +16,7 @@ import org.basex.io.out.*;
 import org.basex.io.out.DataOutput;
 import org.basex.io.random.*;
 import org.basex.util.*;
+import org.basex.util.hash.*;
 
 /**
  * This class creates a database instance on disk.
@@ -40,6 +42,10 @@ public final class DiskBuilder extends Builder {
   private DataOutput vout;
   /** Output stream for temporary values. */
   private DataOutput sout;
+  /** Offsets of stored texts (only assigned if texts are shared). */
+  private Offsets stexts;
+  /** Offsets of stored attribute values (only assigned if texts are shared). */
+  private Offsets svalues;
 
   /** Database context. */
   private final Context context;
@@ -83,6 +89,10 @@ public final class DiskBuilder extends Builder {
       xout = new DataOutput(md.dbfile(DATATXT), bs);
       vout = new DataOutput(md.dbfile(DATAATV), bs);
       sout = new DataOutput(md.dbfile(DATATMP), bs);
+      if(md.sharetexts) {
+        stexts = new Offsets();
+        svalues = new Offsets();
+      }
 
       final Performance perf = Prop.debug ? new Performance() : null;
       Util.debug(tit() + DOTS);
@@ -130,6 +140,8 @@ public final class DiskBuilder extends Builder {
     xout = null;
     vout = null;
     sout = null;
+    stexts = null;
+    svalues = null;
   }
 
   @Override
@@ -194,11 +206,57 @@ public final class DiskBuilder extends Builder {
     final long v = Token.toSimpleInt(value);
     if(v != Integer.MIN_VALUE) return v | IO.OFFNUM;
 
+    // reuse identical text that has already been stored
+    final Offsets offsets = text ? stexts : svalues;
+    final boolean share = offsets != null && value.length <= meta.maxlen;
+    if(share) {
+      final long o = offsets.get(value);
+      if(o != -1) return o;
+    }
+
     // store text
     final DataOutput store = text ? xout : vout;
     final long off = store.size();
     final byte[] val = COMP.get().pack(value);
     store.writeToken(val);
-    return val == value ? off : off | IO.OFFCOMP;
+    final long o = val == value ? off : off | IO.OFFCOMP;
+    if(share) offsets.put(value, o);
+    return o;
+  }
+
+  /** Offsets of stored texts. */
+  private static final class Offsets extends TokenSet {
+    /** Maximum number of texts. */
+    private static final int MAX = 1 << 18;
+    /** Offsets. */
+    private long[] offsets = new long[Array.CAPACITY];
+
+    /**
+     * Stores the offset of a text, unless the maximum number of texts has been reached.
+     * @param key text
+     * @param off offset
+     */
+    void put(final byte[] key, final long off) {
+      if(size > MAX) return;
+      // array bounds are checked before array is resized
+      final int i = put(key);
+      offsets[i] = off;
+    }
+
+    /**
+     * Returns the offset of a text.
+     * @param key text
+     * @return offset, or {@code -1} if the text was not found
+     */
+    long get(final byte[] key) {
+      final int i = id(key);
+      return i == 0 ? -1 : offsets[i];
+    }
+
+    @Override
+    protected void rehash(final int s) {
+      super.rehash(s);
+      offsets = Arrays.copyOf(offsets, s);
+    }
   }
 }
@@ -1,11 +1,17 @@
 package org.basex.build;
 
+import static org.basex.query.util.Err.*;
+import static org.basex.util.Token.*;
+
 import java.io.*;
 
-import org.basex.build.xml.*;
 import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.parse.json.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
 
 /**
  * This class parses files in the JSON format
@@ -17,14 +23,18 @@ import org.basex.io.parse.json.*;
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
  */
-public final class JsonParser extends XMLParser {
+public final class JsonParser extends SingleParser {
+  /** Parser options. */
+  private final JsonParserOptions jopts;
+  /** Chop whitespaces. */
+  private final boolean chop;
+
   /**
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts) throws IOException {
+  public JsonParser(final IO source, final MainOptions opts) {
     this(source, opts, opts.get(MainOptions.JSONPARSER));
   }
 
@@ -33,11 +43,43 @@ public final class JsonParser extends XMLParser {
    * @param source document source
    * @param opts database options
    * @param jopts parser options
+   */
+  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts) {
+    super(source, opts);
+    this.jopts = jopts;
+    chop = opts.get(MainOptions.CHOP);
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    final JsonConverter conv = JsonConverter.get(jopts);
+    conv.convert(src);
+    final Item item = conv.finish();
+    if(!(item instanceof ANode)) throw SERFUNC.getIO(item.type);
+    // pass on the converted nodes (no need to serialize and parse them again)
+    parse(((ANode) item).children());
+  }
+
+  /**
+   * Passes the specified nodes and their descendants on to the builder.
+   * @param iter node iterator
    * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts)
-      throws IOException {
-    super(toXML(source, jopts), opts);
+  private void parse(final AxisIter iter) throws IOException {
+    for(ANode node; (node = iter.next()) != null;) {
+      final Type type = node.type;
+      if(type == NodeType.ELM) {
+        atts.clear();
+        final AxisIter ai = node.attributes();
+        for(ANode a; (a = ai.next()) != null;) atts.add(a.name(), a.string());
+        builder.openElem(node.name(), atts, nsp);
+        parse(node.children());
+        builder.closeElem();
+      } else if(type == NodeType.TXT) {
+        final byte[] text = node.string();
+        builder.text(chop ? trim(text) : text);
+      }
+    }
   }
 
   /**
@@ -69,6 +69,8 @@ public class SAXHandler extends DefaultHandler implements LexicalHandler {
       final int as = at.getLength();
       for(int a = 0; a < as; ++a) {
         final byte[] an = token(at.getQName(a));
+        // skip namespace declarations, which may be reported by transformers
+        if(startsWith(an, XMLNS) && (an.length == 5 || an[5] == ':')) continue;
         final byte[] av = token(at.getValue(a));
         atts.add(stripNS ? local(an) : an, av);
       }
@@ -94,6 +96,16 @@ public class SAXHandler extends DefaultHandler implements LexicalHandler {
     }
   }
 
+  @Override
+  public void endDocument() throws SAXException {
+    // texts outside elements may be reported if events are not generated by a parser
+    try {
+      finishText();
+    } catch(final IOException ex) {
+      error(ex);
+    }
+  }
+
   @Override
   public void endElement(final String uri, final String ln, final String qn) throws SAXException {
     try {
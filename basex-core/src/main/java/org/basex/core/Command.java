@@ -11,6 +11,7 @@ import org.basex.data.*;
 import org.basex.io.out.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 import org.xml.sax.*;
 
 /**
@@ -87,6 +88,7 @@ public abstract class Command extends Proc {
     // set updating flag
     updating = updating(ctx);
 
+    final long start = System.nanoTime();
     try {
       // register process
       ctx.register(this);
@@ -102,6 +104,8 @@ public abstract class Command extends Proc {
     } finally {
       // guarantee that process will be unregistered
       ctx.unregister(this);
+      Metrics.histogram("basex_command_seconds", "Execution time of commands.",
+          "command", Util.className(this)).time(start);
     }
   }
 
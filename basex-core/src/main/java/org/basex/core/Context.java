@@ -8,6 +8,7 @@ import org.basex.query.util.pkg.*;
 import org.basex.server.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class serves as a central database context.
@@ -20,6 +21,10 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class Context {
+  /** Time spent waiting for locks. */
+  private static final Histogram LOCKWAIT = Metrics.histogram("basex_lock_wait_seconds",
+      "Time spent waiting for database locks.");
+
   /** Client listener. Set to {@code null} in standalone/server mode. */
   public final ClientListener listener;
   /** Blocked clients. */
@@ -121,6 +126,7 @@ public final class Context {
    */
   public synchronized void close() {
     while(!sessions.isEmpty()) sessions.get(0).quit();
+    databases.finishBackups();
     dbs.close();
     log.close();
   }
@@ -227,6 +233,8 @@ public final class Context {
   public void register(final Proc pr) {
     assert !pr.registered() : "Already registered:" + pr;
     pr.registered(true);
+    // logs of updated tables will be synced when the locks are released
+    TableDiskAccess.defer();
 
     // administrators will not be affected by the timeout
     if(!user.has(Perm.ADMIN)) pr.startTimeout(globalopts.get(GlobalOptions.TIMEOUT) * 1000L);
@@ -236,11 +244,23 @@ public final class Context {
     pr.databases(lr);
     final StringList read = prepareLock(lr.read, lr.readAll);
     final StringList write = prepareLock(lr.write, lr.writeAll);
-    locks.acquire(pr, read, write);
+    final long start = System.nanoTime();
+    locks.acquire(pr, read, write, lr.defer);
+    final long wait = LOCKWAIT.time(start);
+    pr.locked(read, write, wait);
+  }
+
+  /**
+   * Acquires the write locks of the current process that have been deferred.
+   * Must be called before databases are updated.
+   */
+  public void upgrade() {
+    locks.upgrade();
   }
 
   /**
-   * Unlocks the process and stops the timeout.
+   * Unlocks the process, stops the timeout, and syncs the logs of the tables that have been
+   * updated by the process.
    * @param pr process
    */
   public void unregister(final Proc pr) {
@@ -248,6 +268,9 @@ public final class Context {
     pr.registered(false);
     locks.release(pr);
     pr.stopTimeout();
+    // sync logs after the release of the locks: other processes can commit their changes
+    // in the meantime, and their logs can be synced at once
+    TableDiskAccess.syncDeferred();
   }
 
   /**
@@ -21,6 +21,10 @@ import org.basex.util.list.*;
  * them in parallel by the same thread (it is fine to call arbitrary locking methods by
  * different threads at the same time).
  *
+ * Write locks on databases can be deferred: in this case, other writers are excluded,
+ * but readers may access the databases until {@link #upgrade()} is called. This way,
+ * updating queries only block readers while their updates are applied.
+ *
  * This locking can be deactivated by setting {@link GlobalOptions#GLOBALLOCK} to
  * {@code true}.
  *
@@ -64,7 +68,7 @@ public final class DBLocking implements Locking {
    */
   private final ReentrantReadWriteLock writeAll = new ReentrantReadWriteLock();
   /** Stores one lock for each object used for locking. */
-  private final Map<String, ReentrantReadWriteLock> locks = new HashMap<>();
+  private final Map<String, ObjectLock> locks = new HashMap<>();
   /** Stores lock usage counters for each object used for locking. */
   private final Map<String, Integer> lockUsage = new HashMap<>();
   /**
@@ -88,6 +92,11 @@ public final class DBLocking implements Locking {
    * everything, an empty array lock nothing.
    */
   private final ConcurrentMap<Long, StringList> readLocked = new ConcurrentHashMap<>();
+  /**
+   * Stores a list of objects each transaction has write-locked, but for which only read
+   * locks have been acquired so far.
+   */
+  private final ConcurrentMap<Long, StringList> deferred = new ConcurrentHashMap<>();
   /** BaseX database context. */
   private final GlobalOptions gopts;
 
@@ -100,7 +109,8 @@ public final class DBLocking implements Locking {
   }
 
   @Override
-  public void acquire(final Proc pr, final StringList read, final StringList write) {
+  public void acquire(final Proc pr, final StringList read, final StringList write,
+      final boolean defer) {
     final Long thread = Thread.currentThread().getId();
     if(writeLocked.containsKey(thread) || readLocked.containsKey(thread))
       throw new IllegalMonitorStateException("Thread already holds one or more locks.");
@@ -160,12 +170,27 @@ public final class DBLocking implements Locking {
     }
     final StringList readObjects;
     if(read != null) {
-      readObjects = read.sort().unique();
+      // objects that will be write-locked need no read locks
+      readObjects = new StringList(read.size());
+      for(final String object : read.sort().unique()) {
+        if(!writeObjects.contains(object)) readObjects.add(object);
+      }
       readLocked.put(thread, readObjects);
     } else {
       readObjects = new StringList(0);
     }
 
+    // exclude other writers first. write locks will only be deferred if no other objects
+    // are read: otherwise, concurrent upgrades might lead to deadlocks
+    final boolean dfr = defer && readObjects.isEmpty();
+    final StringList deferObjects = new StringList(0);
+    for(final String writeObject : writeObjects) {
+      setLockUsed(writeObject);
+      getOrCreateLock(writeObject).intent.lock();
+      if(dfr && deferrable(writeObject)) deferObjects.add(writeObject);
+    }
+    if(!deferObjects.isEmpty()) deferred.put(thread, deferObjects);
+
     // Use pattern similar to merge sort
     int w = 0, r = 0;
     while(r < readObjects.size() || w < writeObjects.size()) {
@@ -173,8 +198,9 @@ public final class DBLocking implements Locking {
       if(w < writeObjects.size() && (r >= readObjects.size()
           || writeObjects.get(w).compareTo(readObjects.get(r)) <= 0)) {
         final String writeObject = writeObjects.get(w++);
-        setLockUsed(writeObject);
-        getOrCreateLock(writeObject).writeLock().lock();
+        final ObjectLock lock = getOrCreateLock(writeObject);
+        if(deferObjects.contains(writeObject)) lock.readLock().lock();
+        else lock.writeLock().lock();
       } else
       // Read lock only if not global write locking; otherwise no lock downgrading from
       // global write lock is possible
@@ -186,17 +212,40 @@ public final class DBLocking implements Locking {
     }
   }
 
+  @Override
+  public void upgrade() {
+    final StringList objects = deferred.remove(Thread.currentThread().getId());
+    if(objects == null) return;
+    // objects are sorted, and other writers are excluded: no deadlocks can occur
+    for(final String object : objects) {
+      final ObjectLock lock = getOrCreateLock(object);
+      lock.readLock().unlock();
+      lock.writeLock().lock();
+    }
+  }
+
+  /**
+   * Checks if the write lock on the specified object can be deferred.
+   * This is the case for all objects except for special and user-defined locks.
+   * @param object object
+   * @return result of check
+   */
+  private static boolean deferrable(final String object) {
+    return !object.startsWith(PREFIX) && !object.startsWith(USER_PREFIX) &&
+        !object.startsWith(MODULE_PREFIX);
+  }
+
   /**
    * Gets or creates lock on object.
    * @param object to fetch lock for
    * @return lock on object
    */
-  private ReentrantReadWriteLock getOrCreateLock(final String object) {
-    ReentrantReadWriteLock lock;
+  private ObjectLock getOrCreateLock(final String object) {
+    ObjectLock lock;
     synchronized(locks) { // Make sure each object lock is a singleton
       lock = locks.get(object);
       if(lock == null) { // Create lock if needed
-        lock = new ReentrantReadWriteLock(FAIR);
+        lock = new ObjectLock();
         locks.put(object, lock);
       }
     }
@@ -208,11 +257,17 @@ public final class DBLocking implements Locking {
     // Release all write locks
     final Long thread = Thread.currentThread().getId();
     final StringList writeObjects = writeLocked.remove(thread);
+    final StringList deferObjects = deferred.remove(thread);
     if(writeObjects != null) for(final String object : writeObjects) {
-      final ReentrantReadWriteLock lock = getOrCreateLock(object);
-      assert lock.getWriteHoldCount() == 1 : "Unexpected write lock count: "
-          + lock.getWriteHoldCount();
-      lock.writeLock().unlock();
+      final ObjectLock lock = getOrCreateLock(object);
+      if(deferObjects != null && deferObjects.contains(object)) {
+        lock.readLock().unlock();
+      } else {
+        assert lock.getWriteHoldCount() == 1 : "Unexpected write lock count: "
+            + lock.getWriteHoldCount();
+        lock.writeLock().unlock();
+      }
+      lock.intent.unlock();
       unsetLockIfUnused(object);
     }
 
@@ -283,7 +338,7 @@ public final class DBLocking implements Locking {
     sb.append(ind + "Transactions running: " + transactions + NL);
     sb.append(ind + "Transaction queue: " + queue + NL);
     sb.append(ind + "Held locks by object:" + NL);
-    for(final Map.Entry<String, ReentrantReadWriteLock> e : locks.entrySet())
+    for(final Map.Entry<String, ObjectLock> e : locks.entrySet())
       sb.append(ind + ind + e.getKey() + " -> " + e.getValue() + NL);
     sb.append(ind + "Held write locks by transaction:" + NL);
     for(final Long thread : writeLocked.keySet())
@@ -294,4 +349,14 @@ public final class DBLocking implements Locking {
     return sb.toString();
   }
 
+  /** Lock on a single object. */
+  private static final class ObjectLock extends ReentrantReadWriteLock {
+    /** Lock for excluding other writers, which is acquired before the write lock. */
+    final ReentrantLock intent = new ReentrantLock(FAIR);
+
+    /** Constructor. */
+    ObjectLock() {
+      super(FAIR);
+    }
+  }
 }
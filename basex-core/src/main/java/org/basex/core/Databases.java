@@ -9,6 +9,9 @@ import org.basex.util.list.*;
 
 /**
  * Manages a two-way-map of all available databases and backups. Used for locking.
+ * Backups that are written in the background are only listed once they are complete.
+ * Backups that could not be written are remembered until a later backup of the same
+ * database has been written.
  *
  * @author BaseX Team 2005-14, BSD License
  * @author Jens Erat
@@ -34,6 +37,11 @@ public final class Databases {
 
   /** Global options. */
   private final GlobalOptions gopts;
+  /** Pending backups, and the threads that are writing them in the background
+   * ({@code null} while the snapshot of a backup is being created). */
+  private final HashMap<String, Thread> pending = new HashMap<>();
+  /** Backups that could not be written in the background, and the causing errors. */
+  private final TreeMap<String, String> failed = new TreeMap<>();
 
   /**
    * Creates a new instance and loads available databases.
@@ -77,6 +85,7 @@ public final class Databases {
    * @return database and backups list
    */
   private StringList list(final boolean db, final boolean backup, final String name) {
+    if(backup) finishBackups();
     final Pattern pt;
     if(name != null) {
       final String nm = REGEX.matcher(name).matches() ? IOFile.regex(name) :
@@ -111,6 +120,7 @@ public final class Databases {
    * @return backups
    */
   public StringList backups() {
+    finishBackups();
     final StringList backups = new StringList();
     for(final IOFile f : gopts.dbpath().children()) {
       final String n = f.name();
@@ -126,6 +136,18 @@ public final class Databases {
    * @return names of specified backups
    */
   public StringList backups(final String db) {
+    finishBackups();
+    return completed(db);
+  }
+
+  /**
+   * Returns the name of a specific backup, or all backups found for a specific database,
+   * in a descending order. In contrast to {@link #backups(String)}, this function does not
+   * wait for pending backups, which will not be returned.
+   * @param db database
+   * @return names of specified backups
+   */
+  public StringList completed(final String db) {
     final StringList backups = new StringList();
     final IOFile file = gopts.dbpath(db + IO.ZIPSUFFIX);
     if(file.exists()) {
@@ -141,6 +163,114 @@ public final class Databases {
     return backups.sort(Prop.CASE, false);
   }
 
+  /**
+   * Registers a backup that is going to be created. If a backup with the same name is
+   * still pending, waits until it has been finished.
+   * @param backup name of the backup
+   */
+  public void start(final String backup) {
+    synchronized(pending) {
+      while(pending.containsKey(backup)) await();
+      pending.put(backup, null);
+    }
+  }
+
+  /**
+   * Starts a thread that writes a registered backup in the background. Backups will only
+   * be listed after all such threads have been finished.
+   * @param backup name of the backup
+   * @param thread thread
+   */
+  public void backup(final String backup, final Thread thread) {
+    synchronized(pending) {
+      pending.put(backup, thread);
+    }
+    thread.start();
+  }
+
+  /**
+   * Unregisters a backup that has been finished or aborted.
+   * @param backup name of the backup
+   */
+  public void finish(final String backup) {
+    synchronized(pending) {
+      pending.remove(backup);
+      pending.notifyAll();
+    }
+  }
+
+  /**
+   * Checks if the specified backup is pending.
+   * @param backup name of the backup
+   * @return result of check
+   */
+  public boolean pending(final String backup) {
+    synchronized(pending) {
+      return pending.containsKey(backup);
+    }
+  }
+
+  /**
+   * Registers a backup that could not be written in the background.
+   * @param backup name of the backup
+   * @param error error message
+   */
+  public void failed(final String backup, final String error) {
+    synchronized(failed) {
+      failed.put(backup, error);
+    }
+  }
+
+  /**
+   * Registers a backup that has been successfully written in the background.
+   * Failures of older backups of the same database are discarded.
+   * @param backup name of the backup
+   */
+  public void written(final String backup) {
+    final String db = name(backup);
+    synchronized(failed) {
+      final Iterator<String> it = failed.keySet().iterator();
+      while(it.hasNext()) {
+        // names of backups of the same database are ordered by their creation time
+        final String b = it.next();
+        if(name(b).equals(db) && b.compareTo(backup) <= 0) it.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the backups that could not be written in the background, and the causing
+   * errors. Waits until all pending backups have been finished.
+   * @return map with backup names and error messages
+   */
+  public TreeMap<String, String> failed() {
+    finishBackups();
+    synchronized(failed) {
+      return new TreeMap<>(failed);
+    }
+  }
+
+  /**
+   * Waits until all pending backups have been finished.
+   */
+  public void finishBackups() {
+    synchronized(pending) {
+      while(!pending.isEmpty()) await();
+    }
+  }
+
+  /**
+   * Waits until a pending backup has been finished.
+   * Must be called while holding the monitor of the pending backups.
+   */
+  private void await() {
+    try {
+      pending.wait();
+    } catch(final InterruptedException ex) {
+      Util.debug(ex);
+    }
+  }
+
   /**
    * Extracts the name of a database from the name of a backup.
    * @param backup Name of the backup file. Valid formats:
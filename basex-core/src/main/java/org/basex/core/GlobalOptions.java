@@ -72,6 +72,8 @@ public final class GlobalOptions extends Options {
   public static final BooleanOption LOG = new BooleanOption("LOG", true);
   /** Log message cut-off. */
   public static final NumberOption LOGMSGMAXLEN = new NumberOption("LOGMSGMAXLEN", 1000);
+  /** Minimum time (ms) for queries to be logged with their plan and profile (0: off). */
+  public static final NumberOption SLOWQUERY = new NumberOption("SLOWQUERY", 0);
 
   /** Comment: written to options file. */
   public static final Comment C_HTTP = new Comment("HTTP Services");
@@ -18,6 +18,8 @@ public class LockResult {
   public boolean readAll;
   /** Flag if global write lock is required. */
   public boolean writeAll;
+  /** Flag if write locks may be deferred until updates are applied. */
+  public boolean defer;
 
   @Override
   public String toString() {
@@ -18,8 +18,15 @@ interface Locking {
    *   Global locking is performed if the passed on reference is {@code null}
    * @param write names of databases to put write locks on.
    *   Global locking is performed if the passed on reference is {@code null}
+   * @param defer defer write locks until {@link #upgrade()} is called
    */
-  void acquire(final Proc pr, final StringList read, final StringList write);
+  void acquire(final Proc pr, final StringList read, final StringList write,
+      final boolean defer);
+
+  /**
+   * Acquires all write locks of the current transaction that have been deferred.
+   */
+  void upgrade();
 
   /**
    * Unlock all string locked by a transaction.
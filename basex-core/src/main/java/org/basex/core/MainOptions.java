@@ -82,6 +82,8 @@ public final class MainOptions extends Options {
   public static final NumberOption MAXCATS = new NumberOption("MAXCATS", 100);
   /** Flag for automatic index update. */
   public static final BooleanOption UPDINDEX = new BooleanOption("UPDINDEX", false);
+  /** Flag for storing identical texts and attribute values only once. */
+  public static final BooleanOption SHARETEXTS = new BooleanOption("SHARETEXTS", false);
 
   // Full-Text
 
@@ -149,6 +151,8 @@ public final class MainOptions extends Options {
 
   /** Flushes the database after each update. */
   public static final BooleanOption AUTOFLUSH = new BooleanOption("AUTOFLUSH", true);
+  /** Creates incremental backups. */
+  public static final BooleanOption INCBACKUP = new BooleanOption("INCBACKUP", false);
   /** Writes original files back after updates. */
   public static final BooleanOption WRITEBACK = new BooleanOption("WRITEBACK", false);
   /** Maximum number of index occurrences to print. */
@@ -3,6 +3,7 @@ package org.basex.core;
 import static org.basex.core.Text.*;
 
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * This class is implemented by all kinds of processes.
@@ -21,7 +22,7 @@ public abstract class Proc {
   /** Indicates if a process is currently registered. */
   boolean registered;
   /** Stopped flag. */
-  private boolean stopped;
+  private volatile boolean stopped;
   /** Timeout thread. */
   private Thread timeout;
   /** Sub process. */
@@ -88,10 +89,22 @@ public abstract class Proc {
   }
 
   /**
-   * Checks if the process was interrupted; if yes, sends a runtime exception.
+   * Checks if the process or one of its parents was interrupted;
+   * if yes, sends a runtime exception.
    */
   public final void checkStop() {
-    if(stopped) throw new ProcException();
+    for(Proc proc = this; proc != null; proc = proc.parent()) {
+      if(proc.stopped) throw new ProcException();
+    }
+  }
+
+  /**
+   * Returns the parent process. Can be overwritten by processes that are evaluated
+   * on behalf of another process.
+   * @return parent process (may be {@code null})
+   */
+  protected Proc parent() {
+    return null;
   }
 
   /**
@@ -137,6 +150,16 @@ public abstract class Proc {
     lr.writeAll = true;
   }
 
+  /**
+   * Called after the locks of the process have been acquired.
+   * @param read read locks ({@code null}: global lock)
+   * @param write write locks ({@code null}: global lock)
+   * @param wait time spent waiting for the locks (nanoseconds)
+   */
+  public void locked(final StringList read, final StringList write, final long wait) {
+    if(sub != null) sub.locked(read, write, wait);
+  }
+
   /**
    * Checks if the process is registered.
    * @return result of check
@@ -38,7 +38,8 @@ final class ProcLocking implements Locking {
   }
 
   @Override
-  public void acquire(final Proc pr, final StringList read, final StringList write) {
+  public void acquire(final Proc pr, final StringList read, final StringList write,
+      final boolean defer) {
     final Object o = new Object();
 
     synchronized(mutex) {
@@ -77,6 +78,11 @@ final class ProcLocking implements Locking {
     }
   }
 
+  @Override
+  public void upgrade() {
+    // global locking: write locks are never deferred
+  }
+
   @Override
   public void release(final Proc pr) {
     synchronized(mutex) {
@@ -610,8 +610,8 @@ public interface Text {
   String DB_NOT_RENAMED_X = lang("db_not_renamed_%");
   /** Database flushed. */
   String DB_FLUSHED_X = lang("db_flushed_%");
-  /** Backup of database created. */
-  String DB_BACKUP_X = lang("db_backup_%");
+  /** Backup of database started. */
+  String DB_BACKUP_STARTED_X = lang("db_backup_started_%");
   /** Backup of database not created. */
   String DB_NOT_BACKUP_X = lang("db_not_backup_%");
   /** Copy of database created. */
@@ -632,6 +632,10 @@ public interface Text {
   String BACKUP_DROPPED_X = lang("backup_dropped_%");
   /** Backup was not found. */
   String BACKUP_NOT_FOUND_X = lang("backup_not_found_%");
+  /** Backup is based on a backup to be dropped. */
+  String BACKUP_DEPENDENT_X = lang("backup_dependent_%");
+  /** Backup could not be written. */
+  String BACKUP_FAILED_X_X = lang("backup_failed_%_%");
   /** File could not be deleted. */
   String FILE_NOT_DELETED_X = lang("file_not_deleted_%");
   /** File could not be renamed. */
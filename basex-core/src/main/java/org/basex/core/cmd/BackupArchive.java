@@ -0,0 +1,484 @@
+package org.basex.core.cmd;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
+
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Creates and restores backup archives.
+ *
+ * <p>Next to the database files, each archive contains a manifest, which lists all files
+ * of the database together with the digests of their chunks. An incremental archive only
+ * contains the files and chunks that have changed since the previous backup. Before it is
+ * restored, the archives it is based on will be restored. A full backup is created
+ * whenever a chain of archives has reached its maximum length, and archives that other
+ * archives are based on can only be dropped together with them.</p>
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+final class BackupArchive extends Proc {
+  /** Name of the manifest entry. */
+  private static final String MANIFEST = ".manifest";
+  /** Path prefix of entries containing single chunks. */
+  private static final String CHUNKS = ".chunks/";
+  /** Size of a chunk. */
+  private static final int CHUNK = 1 << 20;
+  /** Maximum number of archives in a chain of incremental backups. */
+  private static final int MAXCHAIN = 10;
+  /** Digest algorithm. */
+  private static final String DIGEST = "MD5";
+
+  /** Total number of files or entries. */
+  private int total;
+  /** Number of processed files or entries. */
+  private final AtomicInteger curr = new AtomicInteger();
+
+  /**
+   * Creates a backup archive.
+   * @param root database directory
+   * @param files relative paths of the files to be backed up
+   * @param archive archive to be created
+   * @param base previous backup archive; if {@code null}, or if it cannot be used as
+   * base, a full backup will be created
+   * @throws IOException I/O exception
+   */
+  void backup(final IOFile root, final StringList files, final IOFile archive,
+      final IOFile base) throws IOException {
+
+    // retrieve manifest of previous backup if its chain of archives is complete.
+    // a full backup is created if the chain has reached its maximum length
+    Manifest prev = null;
+    if(base != null) {
+      try {
+        if(chain(base).size() < MAXCHAIN) prev = Manifest.read(base);
+      } catch(final FileNotFoundException ex) {
+        Util.debug(ex);
+      }
+    }
+
+    final int fs = files.size();
+    final String[] paths = new String[fs];
+    final IOFile[] sources = new IOFile[fs];
+    for(int f = 0; f < fs; f++) {
+      final String file = files.get(f);
+      paths[f] = Prop.WIN ? file.replace('\\', '/') : file;
+      sources[f] = new IOFile(root, file);
+    }
+    final String bn = prev == null ? "" : base.name();
+    final Manifest man = new Manifest(bn.isEmpty() ? bn :
+      bn.substring(0, bn.length() - IO.ZIPSUFFIX.length()), root.name());
+
+    // incremental backup: compute digests of all modified files in parallel
+    final Manifest.Entry[] entries = new Manifest.Entry[fs];
+    if(prev != null) {
+      total = fs;
+      final Manifest pm = prev;
+      parallel(fs, new Task() {
+        @Override
+        public void run(final int f) throws IOException {
+          final IOFile source = sources[f];
+          final long size = source.length(), time = source.timeStamp();
+          final Manifest.Entry pe = pm.files.get(paths[f]);
+          if(pe != null && pe.size == size && pe.time == time) {
+            entries[f] = pe;
+          } else {
+            try(final FileInputStream in = new FileInputStream(source.file())) {
+              entries[f] = new Manifest.Entry(size, time, copy(in, null));
+            }
+          }
+          curr.incrementAndGet();
+        }
+      });
+    }
+
+    total = fs;
+    curr.set(0);
+    try(final ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(
+        new FileOutputStream(archive.file())))) {
+      // use simple, fast compression
+      out.setLevel(1);
+      for(int f = 0; f < fs; f++) {
+        checkStop();
+        final String path = paths[f];
+        final Manifest.Entry pe = prev == null ? null : prev.files.get(path);
+        final Manifest.Entry entry = entries[f];
+        if(pe == null) {
+          // full backup or new file: add complete file and compute digests
+          try(final FileInputStream in = new FileInputStream(sources[f].file())) {
+            out.putNextEntry(new ZipEntry(root.name() + '/' + path));
+            final byte[] digests = copy(in, out);
+            out.closeEntry();
+            man.files.put(path, entry != null ? entry :
+              new Manifest.Entry(sources[f].length(), sources[f].timeStamp(), digests));
+          }
+        } else {
+          // modified file: add chunks with different digests
+          final int dl = entry.digests.length, pl = pe.digests.length;
+          if(entry != pe) {
+            try(final RandomAccessFile in = new RandomAccessFile(sources[f].file(), "r")) {
+              final byte[] data = new byte[CHUNK];
+              for(int d = 0, c = 0; d < dl; d += 16, c++) {
+                if(d + 16 <= pl && same(entry.digests, pe.digests, d)) continue;
+                final int l = (int) Math.min(CHUNK, entry.size - (long) c * CHUNK);
+                in.seek((long) c * CHUNK);
+                in.readFully(data, 0, l);
+                out.putNextEntry(new ZipEntry(CHUNKS + root.name() + '/' + path + '/' + c));
+                out.write(data, 0, l);
+                out.closeEntry();
+              }
+            }
+          }
+          man.files.put(path, entry);
+        }
+        curr.incrementAndGet();
+      }
+      out.putNextEntry(new ZipEntry(MANIFEST));
+      out.write(man.toArray());
+      out.closeEntry();
+    }
+  }
+
+  /**
+   * Copies the specified files to a snapshot directory. Timestamps will be preserved.
+   * @param root database directory
+   * @param files relative paths of the files to be copied
+   * @param target snapshot directory
+   * @throws IOException I/O exception
+   */
+  void snapshot(final IOFile root, final StringList files, final IOFile target)
+      throws IOException {
+
+    total = files.size();
+    curr.set(0);
+    parallel(total, new Task() {
+      @Override
+      public void run(final int f) throws IOException {
+        checkStop();
+        final String file = files.get(f);
+        final IOFile trg = new IOFile(target, file);
+        trg.parent().md();
+        Files.copy(new IOFile(root, file).toPath(), trg.toPath(),
+            StandardCopyOption.COPY_ATTRIBUTES);
+        curr.incrementAndGet();
+      }
+    });
+  }
+
+  /**
+   * Restores a backup archive, and all archives it is based on.
+   * @param archive archive
+   * @param target target directory
+   * @throws IOException I/O exception
+   */
+  void restore(final IOFile archive, final IOFile target) throws IOException {
+    final ArrayList<IOFile> archives = chain(archive);
+    curr.set(0);
+    total = 0;
+    for(final IOFile arc : archives) {
+      try(final ZipFile zf = new ZipFile(arc.file())) {
+        total += zf.size();
+      }
+    }
+    for(final IOFile arc : archives) {
+      unzip(arc, target);
+      // remove obsolete files and chunks
+      final Manifest man = Manifest.read(arc);
+      if(man == null) continue;
+      final IOFile root = new IOFile(target, man.root);
+      for(final String file : root.descendants()) {
+        final IOFile io = new IOFile(root, file);
+        final Manifest.Entry entry = man.files.get(Prop.WIN ? file.replace('\\', '/') : file);
+        if(entry == null) {
+          io.delete();
+        } else if(io.length() > entry.size) {
+          try(final RandomAccessFile raf = new RandomAccessFile(io.file(), "rw")) {
+            raf.setLength(entry.size);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Extracts all entries of an archive in parallel.
+   * @param archive archive
+   * @param target target directory
+   * @throws IOException I/O exception
+   */
+  private void unzip(final IOFile archive, final IOFile target) throws IOException {
+    try(final ZipFile zf = new ZipFile(archive.file())) {
+      final ArrayList<ZipEntry> zes = new ArrayList<>();
+      for(final Enumeration<? extends ZipEntry> en = zf.entries(); en.hasMoreElements();) {
+        final ZipEntry ze = en.nextElement();
+        if(ze.getName().equals(MANIFEST)) curr.incrementAndGet();
+        else zes.add(ze);
+      }
+      parallel(zes.size(), new Task() {
+        @Override
+        public void run(final int e) throws IOException {
+          checkStop();
+          final ZipEntry ze = zes.get(e);
+          final String name = ze.getName();
+          if(ze.isDirectory()) {
+            new IOFile(target, name).md();
+          } else if(name.startsWith(CHUNKS)) {
+            // chunk: write to the original offset of the file
+            final int i = name.lastIndexOf('/');
+            final long c = Long.parseLong(name.substring(i + 1));
+            final IOFile trg = new IOFile(target, name.substring(CHUNKS.length(), i));
+            try(final InputStream in = zf.getInputStream(ze);
+                final RandomAccessFile out = new RandomAccessFile(trg.file(), "rw")) {
+              out.seek(c * CHUNK);
+              final byte[] data = new byte[IO.BLOCKSIZE];
+              for(int l; (l = in.read(data)) != -1;) out.write(data, 0, l);
+            }
+          } else {
+            final IOFile trg = new IOFile(target, name);
+            trg.parent().md();
+            try(final InputStream in = zf.getInputStream(ze);
+                final OutputStream out = new FileOutputStream(trg.file())) {
+              copy(in, out);
+            }
+          }
+          curr.incrementAndGet();
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the name of the backup the specified archive is based on.
+   * @param archive archive
+   * @return name of the base backup, or an empty string for full backups
+   * @throws IOException I/O exception
+   */
+  static String base(final IOFile archive) throws IOException {
+    final Manifest man = Manifest.read(archive);
+    return man == null ? "" : man.base;
+  }
+
+  /**
+   * Returns the specified archive and all archives it is based on, starting with the
+   * full backup.
+   * @param archive archive
+   * @return archives
+   * @throws IOException I/O exception
+   */
+  private static ArrayList<IOFile> chain(final IOFile archive) throws IOException {
+    final ArrayList<IOFile> archives = new ArrayList<>();
+    for(IOFile arc = archive; arc != null;) {
+      if(!arc.exists()) throw new FileNotFoundException(arc.path());
+      archives.add(0, arc);
+      final Manifest man = Manifest.read(arc);
+      arc = man == null || man.base.isEmpty() ? null :
+        new IOFile(arc.parent(), man.base + IO.ZIPSUFFIX);
+    }
+    return archives;
+  }
+
+  /**
+   * Copies the specified input to the output stream and returns the digests of all chunks.
+   * @param in input stream
+   * @param out output stream (can be {@code null})
+   * @return digests
+   * @throws IOException I/O exception
+   */
+  private static byte[] copy(final InputStream in, final OutputStream out)
+      throws IOException {
+
+    final MessageDigest md;
+    try {
+      md = MessageDigest.getInstance(DIGEST);
+    } catch(final NoSuchAlgorithmException ex) {
+      throw Util.notExpected(ex);
+    }
+    final ByteList digests = new ByteList();
+    final byte[] data = new byte[IO.BLOCKSIZE];
+    int chunk = 0;
+    for(int l; (l = in.read(data)) != -1;) {
+      if(out != null) out.write(data, 0, l);
+      for(int o = 0; o < l;) {
+        final int n = Math.min(l - o, CHUNK - chunk);
+        md.update(data, o, n);
+        o += n;
+        chunk += n;
+        if(chunk == CHUNK) {
+          digests.add(md.digest());
+          chunk = 0;
+        }
+      }
+    }
+    if(chunk != 0) digests.add(md.digest());
+    return digests.toArray();
+  }
+
+  /**
+   * Compares two digests.
+   * @param d1 first digest array
+   * @param d2 second digest array
+   * @param o offset
+   * @return result of check
+   */
+  private static boolean same(final byte[] d1, final byte[] d2, final int o) {
+    for(int d = o; d < o + 16; d++) if(d1[d] != d2[d]) return false;
+    return true;
+  }
+
+  /**
+   * Runs the specified number of tasks in parallel.
+   * @param n number of tasks
+   * @param task task
+   * @throws IOException I/O exception
+   */
+  private static void parallel(final int n, final Task task) throws IOException {
+    final AtomicInteger next = new AtomicInteger();
+    final Throwable[] error = new Throwable[1];
+    final int s = Math.max(1, Math.min(n, Runtime.getRuntime().availableProcessors()));
+    final Thread[] threads = new Thread[s];
+    for(int t = 0; t < s; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            for(int i; error[0] == null && (i = next.getAndIncrement()) < n;) task.run(i);
+          } catch(final Throwable ex) {
+            error[0] = ex;
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for(final Thread thread : threads) {
+      while(thread.isAlive()) {
+        try {
+          thread.join();
+        } catch(final InterruptedException ex) {
+          Util.debug(ex);
+        }
+      }
+    }
+    final Throwable ex = error[0];
+    if(ex instanceof IOException) throw (IOException) ex;
+    if(ex instanceof RuntimeException) throw (RuntimeException) ex;
+    if(ex instanceof Error) throw (Error) ex;
+  }
+
+  @Override
+  protected double prog() {
+    return total == 0 ? 0 : (double) curr.get() / total;
+  }
+
+  /** Task that is run in parallel. */
+  private interface Task {
+    /**
+     * Runs a task.
+     * @param i index of the task
+     * @throws IOException I/O exception
+     */
+    void run(final int i) throws IOException;
+  }
+
+  /** Manifest of a backup archive. */
+  private static final class Manifest {
+    /** Name of the backup this backup is based on (empty for full backups). */
+    final String base;
+    /** Name of the database directory. */
+    final String root;
+    /** Files, indexed by their relative paths. */
+    final TreeMap<String, Entry> files = new TreeMap<>();
+
+    /**
+     * Constructor.
+     * @param b name of base backup
+     * @param r name of the database directory
+     */
+    Manifest(final String b, final String r) {
+      base = b;
+      root = r;
+    }
+
+    /**
+     * Reads the manifest of the specified archive.
+     * @param archive archive
+     * @return manifest, or {@code null} if the archive has no manifest
+     * @throws IOException I/O exception
+     */
+    static Manifest read(final IOFile archive) throws IOException {
+      final byte[] cont;
+      try(final ZipFile zf = new ZipFile(archive.file())) {
+        final ZipEntry ze = zf.getEntry(MANIFEST);
+        if(ze == null) return null;
+        try(final InputStream in = zf.getInputStream(ze)) {
+          final ByteList bl = new ByteList();
+          final byte[] data = new byte[IO.BLOCKSIZE];
+          for(int l; (l = in.read(data)) != -1;) bl.add(data, 0, l);
+          cont = bl.toArray();
+        }
+      }
+      final DataInput in = new DataInput(new IOContent(cont));
+      final Manifest man = new Manifest(string(in.readToken()), string(in.readToken()));
+      for(int f = in.readNum(); f > 0; f--) {
+        final String path = string(in.readToken());
+        final long[] st = in.readLongs(in.readNum());
+        man.files.put(path, new Entry(st[0], st[1], in.readToken()));
+      }
+      return man;
+    }
+
+    /**
+     * Returns a binary representation of the manifest.
+     * @return manifest
+     * @throws IOException I/O exception
+     */
+    byte[] toArray() throws IOException {
+      final ArrayOutput ao = new ArrayOutput();
+      final DataOutput out = new DataOutput(ao);
+      out.writeToken(token(base));
+      out.writeToken(token(root));
+      out.writeNum(files.size());
+      for(final Map.Entry<String, Entry> file : files.entrySet()) {
+        final Entry entry = file.getValue();
+        out.writeToken(token(file.getKey()));
+        out.writeLongs(new long[] { entry.size, entry.time });
+        out.writeToken(entry.digests);
+      }
+      return ao.toArray();
+    }
+
+    /** Manifest entry. */
+    static final class Entry {
+      /** File size. */
+      final long size;
+      /** Timestamp. */
+      final long time;
+      /** Digests of all chunks. */
+      final byte[] digests;
+
+      /**
+       * Constructor.
+       * @param s file size
+       * @param t timestamp
+       * @param d digests
+       */
+      Entry(final long s, final long t, final byte[] d) {
+        size = s;
+        time = t;
+        digests = d;
+      }
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static org.basex.data.DataText.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.regex.*;
 
 import org.basex.core.*;
 import org.basex.core.parse.*;
@@ -22,6 +23,9 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class CreateBackup extends ABackup {
+  /** Suffix of snapshot directories. */
+  private static final String SNAPSHOT = ".snapshot";
+
   /**
    * Default constructor.
    * @param arg optional argument
@@ -52,8 +56,8 @@ public final class CreateBackup extends ABackup {
       } else {
         try {
           backup(db, context, this);
-          // backup was successful
-          info(DB_BACKUP_X, db, perf);
+          // snapshot was successful; the archive is written in the background
+          info(DB_BACKUP_STARTED_X, db, perf);
         } catch(final IOException ex) {
           info(DB_NOT_BACKUP_X, db);
           ok = false;
@@ -64,7 +68,13 @@ public final class CreateBackup extends ABackup {
   }
 
   /**
-   * Backups the specified database.
+   * Backups the specified database. If {@link MainOptions#INCBACKUP} is enabled, and if a
+   * previous backup exists, only the files and chunks modified since then will be stored.
+   *
+   * <p>While the database is locked, its files are only copied to a snapshot directory.
+   * The archive is created from the snapshot in the background; it will be listed as soon
+   * as it is complete. If it cannot be written, the error will be reported by
+   * {@link ShowBackups} and {@code db:backups}.</p>
    * @param db name of the database
    * @param ctx database context
    * @param cmd calling command instance
@@ -73,16 +83,82 @@ public final class CreateBackup extends ABackup {
   public static void backup(final String db, final Context ctx, final CreateBackup cmd)
       throws IOException {
 
-    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
-    final IOFile zf = ctx.globalopts.dbpath(backup);
-    final Zip zip = new Zip(zf);
-    if(cmd != null) cmd.proc(zip);
+    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME);
+    final IOFile zf = ctx.globalopts.dbpath(backup + IO.ZIPSUFFIX);
+
+    final IOFile base = base(db, backup, ctx);
+    final IOFile snap = ctx.globalopts.dbpath(backup + SNAPSHOT);
+    ctx.databases.start(backup);
+    boolean started = false;
+    try {
+      // delete snapshots of aborted backups (snapshots of pending backups are still needed)
+      for(final IOFile sn : ctx.globalopts.dbpath().children(
+          Pattern.quote(db) + DateTime.PATTERN + Pattern.quote(SNAPSHOT))) {
+        final String name = sn.name();
+        if(!ctx.databases.pending(name.substring(0, name.length() - SNAPSHOT.length()))) {
+          sn.delete();
+        }
+      }
+      snap.delete();
+
+      // skip file that indicates a current update operation (the case when using XQuery)
+      final IOFile dbpath = ctx.globalopts.dbpath(db);
+      final StringList files = dbpath.descendants();
+      files.delete(DATAUPD + IO.BASEXSUFFIX);
 
-    // skip file that indicates a current update operation (will be the case when using XQuery)
-    final IOFile dbpath = ctx.globalopts.dbpath(db);
-    final StringList files = dbpath.descendants();
-    files.delete(DATAUPD + IO.BASEXSUFFIX);
-    zip.zip(dbpath, files);
+      // copy files to snapshot directory
+      final IOFile root = new IOFile(snap, db);
+      final BackupArchive archive = new BackupArchive();
+      if(cmd != null) cmd.proc(archive);
+      archive.snapshot(dbpath, files, root);
+
+      // create archive in the background
+      ctx.databases.backup(backup, new Thread() {
+        @Override
+        public void run() {
+          final IOFile tmp = new IOFile(snap, zf.name());
+          try {
+            new BackupArchive().backup(root, files, tmp, base);
+            zf.delete();
+            if(!tmp.rename(zf)) throw new IOException(Util.info(FILE_NOT_RENAMED_X, zf));
+            ctx.databases.written(backup);
+          } catch(final IOException ex) {
+            Util.errln(ex);
+            ctx.log.writeError(ex);
+            ctx.databases.failed(backup, Util.message(ex));
+          } finally {
+            snap.delete();
+            ctx.databases.finish(backup);
+          }
+        }
+      });
+      started = true;
+    } finally {
+      // unregister backups that have been aborted before the archive is written
+      if(!started) {
+        snap.delete();
+        ctx.databases.finish(backup);
+      }
+    }
+  }
+
+  /**
+   * Returns the most recent backup of the specified database if incremental backups are
+   * enabled. As the database is locked, pending backups are not waited for: only backups
+   * that have already been written are considered as base.
+   * @param db name of the database
+   * @param backup name of the new backup
+   * @param ctx database context
+   * @return backup archive or {@code null}
+   */
+  private static IOFile base(final String db, final String backup, final Context ctx) {
+    final StringList backups = ctx.databases.completed(db);
+    if(ctx.options.get(MainOptions.INCBACKUP)) {
+      for(final String b : backups) {
+        if(!b.equals(backup)) return ctx.globalopts.dbpath(b + IO.ZIPSUFFIX);
+      }
+    }
+    return null;
   }
 
   @Override
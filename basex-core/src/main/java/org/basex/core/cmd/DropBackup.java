@@ -2,11 +2,14 @@ package org.basex.core.cmd;
 
 import static org.basex.core.Text.*;
 
+import java.io.*;
+
 import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdDrop;
 import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -34,10 +37,15 @@ public class DropBackup extends ABackup {
     // if the given argument is not a database name, it could be the name of a backup file
     if(dbs.isEmpty()) dbs.add(name);
 
+    // collect all backups
+    final StringList backups = new StringList();
+    for(final String db : dbs) backups.add(context.databases.backups(db));
+    // reject backups that other backups are based on
+    final String dep = dependent(backups, context);
+    if(dep != null) return error(BACKUP_DEPENDENT_X, dep);
+
     // drop all backups
-    for(final String db : dbs) {
-      for(final String backup : context.databases.backups(db)) drop(backup, context);
-    }
+    for(final String backup : backups) drop(backup, context);
 
     return info(BACKUP_DROPPED_X, name + '*' + IO.ZIPSUFFIX);
   }
@@ -52,6 +60,26 @@ public class DropBackup extends ABackup {
     return new IOFile(ctx.globalopts.dbpath(), name + IO.ZIPSUFFIX).delete();
   }
 
+  /**
+   * Returns the name of a backup that is based on one of the specified backups, and that
+   * is not contained in the specified list.
+   * @param backups names of the backups to be dropped
+   * @param ctx database context
+   * @return name of the dependent backup, or {@code null}
+   */
+  public static String dependent(final StringList backups, final Context ctx) {
+    for(final String backup : ctx.databases.backups()) {
+      if(backups.contains(backup)) continue;
+      try {
+        final String base = BackupArchive.base(ctx.globalopts.dbpath(backup + IO.ZIPSUFFIX));
+        if(backups.contains(base)) return backup;
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    return null;
+  }
+
   @Override
   public void build(final CmdBuilder cb) {
     cb.init(Cmd.DROP + " " + CmdDrop.BACKUP).args();
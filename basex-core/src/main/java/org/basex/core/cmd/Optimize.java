@@ -7,6 +7,7 @@ import java.io.*;
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.index.*;
+import org.basex.index.ft.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -135,7 +136,11 @@ public final class Optimize extends ACreate {
     // rebuild value indexes
     optimize(IndexType.ATTRIBUTE, data, md.createattr, md.attrindex, rebuild, cmd);
     optimize(IndexType.TEXT,      data, md.createtext, md.textindex, rebuild, cmd);
-    optimize(IndexType.FULLTEXT,  data, md.createftxt, md.ftxtindex, rebuild || rebuildFT, cmd);
+    // rebuild full-text index if it has been updated
+    final boolean updatedFT = md.ftxtindex && data.ftxindex instanceof UpdatableFTIndex &&
+        ((UpdatableFTIndex) data.ftxindex).updated();
+    optimize(IndexType.FULLTEXT,  data, md.createftxt, md.ftxtindex,
+        rebuild || rebuildFT || updatedFT, cmd);
   }
 
   /**
@@ -111,6 +111,7 @@ public final class OptimizeAll extends ACreate {
     ctx.options.set(MainOptions.CHOP, m.chop);
     // adopt original index options
     ctx.options.set(MainOptions.UPDINDEX, m.updindex);
+    ctx.options.set(MainOptions.SHARETEXTS, m.sharetexts);
     ctx.options.set(MainOptions.MAXCATS,  m.maxcats);
     ctx.options.set(MainOptions.MAXLEN,   m.maxlen);
     // adopt original full-text index options
@@ -64,7 +64,8 @@ public class Restore extends ABackup {
   }
 
   /**
-   * Restores the specified database.
+   * Restores the specified database. If the backup is incremental, the backups it is
+   * based on will be restored first.
    * @param db name of database
    * @param backup name of backup
    * @param cmd calling command instance
@@ -78,9 +79,9 @@ public class Restore extends ABackup {
     DropDB.drop(db, context);
 
     final IOFile dbpath = context.globalopts.dbpath();
-    final Zip zip = new Zip(new IOFile(dbpath, backup + IO.ZIPSUFFIX));
-    if(cmd != null) cmd.proc(zip);
-    zip.unzip(dbpath);
+    final BackupArchive archive = new BackupArchive();
+    if(cmd != null) cmd.proc(archive);
+    archive.restore(new IOFile(dbpath, backup + IO.ZIPSUFFIX), dbpath);
   }
 
   @Override
@@ -3,11 +3,11 @@ package org.basex.core.cmd;
 import static org.basex.core.Text.*;
 
 import java.io.*;
+import java.nio.channels.*;
 
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
-import org.basex.io.in.*;
 
 /**
  * Evaluates the 'retrieve' command and retrieves binary content.
@@ -16,6 +16,11 @@ import org.basex.io.in.*;
  * @author Christian Gruen
  */
 public final class Retrieve extends ACreate {
+  /** Offset of the first byte to be returned. */
+  private long offset;
+  /** Maximum number of bytes to be returned ({@code -1}: all remaining bytes). */
+  private long length = -1;
+
   /**
    * Default constructor.
    * @param path source path
@@ -24,6 +29,18 @@ public final class Retrieve extends ACreate {
     super(Perm.NONE, true, path);
   }
 
+  /**
+   * Restricts the output to the specified range of bytes.
+   * @param off offset of the first byte
+   * @param len maximum number of bytes ({@code -1}: all remaining bytes)
+   * @return self reference
+   */
+  public Retrieve range(final long off, final long len) {
+    offset = off;
+    length = len;
+    return this;
+  }
+
   @Override
   protected boolean run() {
     final String path = MetaData.normPath(args[0]);
@@ -33,8 +50,13 @@ public final class Retrieve extends ACreate {
     if(bin == null || !bin.exists() || bin.isDir())
       return error(RES_NOT_FOUND_X, path);
 
-    try(final BufferInput bi = new BufferInput(bin)) {
-      for(int b; (b = bi.read()) != -1;) out.write(b);
+    try(final FileInputStream fis = new FileInputStream(bin.file())) {
+      // pass on file contents in chunks instead of single bytes
+      final FileChannel fc = fis.getChannel();
+      final long size = fc.size();
+      final long end = length == -1 ? size : Math.min(size, offset + length);
+      final WritableByteChannel wbc = Channels.newChannel(out);
+      for(long p = offset; p < end;) p += fc.transferTo(p, end - p, wbc);
       return info(QUERY_EXECUTED_X_X, "", perf);
     } catch(final IOException ex) {
       return error(ex.toString());
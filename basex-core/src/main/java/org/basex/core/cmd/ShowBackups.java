@@ -3,6 +3,7 @@ package org.basex.core.cmd;
 import static org.basex.core.Text.*;
 
 import java.io.*;
+import java.util.*;
 
 import org.basex.core.*;
 import org.basex.core.parse.*;
@@ -33,6 +34,11 @@ public final class ShowBackups extends ABackup {
       table.contents.add(tl);
     }
     out.println(table.sort().finish());
+
+    // report backups that could not be written in the background
+    for(final Map.Entry<String, String> entry : context.databases.failed().entrySet()) {
+      info(BACKUP_FAILED_X_X, entry.getKey(), entry.getValue());
+    }
     return true;
   }
 
@@ -423,6 +423,21 @@ public abstract class Data {
     return table.read5(pre, 3);
   }
 
+  /**
+   * Returns a reference to a text (text, comment, pi) or attribute value.
+   * Texts and attribute values are stored separately, so their references must not be
+   * compared with each other. Nodes of the same category with identical references have
+   * identical values: in main memory, all values are
+   * stored in a dictionary, and on disk, numbers are inlined and identical texts may be
+   * shared (see {@link MetaData#sharetexts}). The reference is valid until the database
+   * is updated.
+   * @param pre pre value
+   * @return reference
+   */
+  public final long textRef(final int pre) {
+    return textOff(pre);
+  }
+
   /**
    * Returns a text (text, comment, pi) or attribute value.
    * @param pre pre value
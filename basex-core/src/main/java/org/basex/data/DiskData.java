@@ -47,6 +47,8 @@ public final class DiskData extends Data {
   private TokenObjMap<IntList> txts;
   /** Attribute values buffered for subsequent index updates. */
   private TokenObjMap<IntList> atvs;
+  /** Full-text index to be updated (may be {@code null}). */
+  private UpdatableFTIndex ftxts;
   /** Closed flag. */
   private boolean closed;
 
@@ -85,7 +87,10 @@ public final class DiskData extends Data {
       if(meta.textindex) txtindex = new DiskValues(this, true);
       if(meta.attrindex) atvindex = new DiskValues(this, false);
     }
-    if(meta.ftxtindex) ftxindex = new FTIndex(this);
+    if(meta.ftxtindex) {
+      ftxindex = meta.updindex && UpdatableFTIndex.exists(this) ? new UpdatableFTIndex(this) :
+        new FTIndex(this);
+    }
     init();
   }
 
@@ -211,6 +216,7 @@ public final class DiskData extends Data {
       values.flush();
       if(txtindex != null) ((DiskValues) txtindex).flush();
       if(atvindex != null) ((DiskValues) atvindex).flush();
+      if(ftxindex instanceof UpdatableFTIndex) ((UpdatableFTIndex) ftxindex).flush();
     } catch(final IOException ex) {
       Util.stack(ex);
     } finally {
@@ -289,8 +295,8 @@ public final class DiskData extends Data {
   protected void delete(final int pre, final boolean text) {
     // old entry (offset or value)
     final long old = textOff(pre);
-    // fill unused space with zero-bytes
-    if(!num(old)) (text ? texts : values).free(old & IO.OFFCOMP - 1, 0);
+    // fill unused space with zero-bytes (shared texts may be referenced by other nodes)
+    if(!num(old) && !meta.sharetexts) (text ? texts : values).free(old & IO.OFFCOMP - 1, 0);
   }
 
   @Override
@@ -304,6 +310,13 @@ public final class DiskData extends Data {
       final DiskValues index = (DiskValues) (text ? txtindex : atvindex);
       // don't index document names
       if(index != null && kind != DOC) index.replace(oldval, value, id);
+      if(kind == TEXT) {
+        final UpdatableFTIndex ftindex = ftindex();
+        if(ftindex != null) {
+          ftindex.delete(id, oldval);
+          ftindex.index(id, value);
+        }
+      }
     }
 
     // reference to text store
@@ -322,8 +335,8 @@ public final class DiskData extends Data {
     final long old = textOff(pre);
     // find text store offset
     final long off;
-    if(num(old)) {
-      // numeric entry: append new entry at the end
+    if(num(old) || meta.sharetexts) {
+      // numeric or shared entry: append new entry at the end
       off = len;
     } else {
       // text size (0 if value will be inlined)
@@ -345,12 +358,14 @@ public final class DiskData extends Data {
   protected void indexBegin() {
     txts = new TokenObjMap<>();
     atvs = new TokenObjMap<>();
+    ftxts = ftindex();
   }
 
   @Override
   protected void indexEnd() {
     if(!txts.isEmpty()) ((DiskValues) txtindex).index(txts);
     if(!atvs.isEmpty()) ((DiskValues) atvindex).index(atvs);
+    ftxts = null;
   }
 
   @Override
@@ -376,6 +391,8 @@ public final class DiskData extends Data {
       }
       ids.add(id);
     }
+    // add full-text tokens
+    if(ftxts != null && kind == TEXT) ftxts.index(id, value);
 
     // add text to text file
     // inline integer value...
@@ -391,7 +408,8 @@ public final class DiskData extends Data {
 
   @Override
   protected void indexDelete(final int pre, final int size) {
-    if(!(meta.textindex || meta.attrindex)) return;
+    final UpdatableFTIndex ftindex = ftindex();
+    if(!(meta.textindex || meta.attrindex || ftindex != null)) return;
 
     // collect all keys and ids
     txts = new TokenObjMap<>();
@@ -400,6 +418,7 @@ public final class DiskData extends Data {
     for(int p = pre; p < l; ++p) {
       final int k = kind(p);
       final boolean isAttr = k == ATTR;
+      if(ftindex != null && k == TEXT) ftindex.delete(id(p), text(p, true));
       // consider nodes which are attribute, text, comment, or proc. instruction
       if(meta.attrindex && isAttr ||
          meta.textindex && (k == TEXT || k == COMM || k == PI)) {
@@ -419,6 +438,18 @@ public final class DiskData extends Data {
     if(!atvs.isEmpty()) ((DiskValues) atvindex).delete(atvs);
   }
 
+  /**
+   * Returns the updatable full-text index. A full-text index that does not support
+   * updates will be invalidated.
+   * @return index, or {@code null} if no updatable full-text index exists
+   */
+  private UpdatableFTIndex ftindex() {
+    if(!meta.ftxtindex) return null;
+    if(ftxindex instanceof UpdatableFTIndex) return (UpdatableFTIndex) ftxindex;
+    meta.ftxtindex = false;
+    return null;
+  }
+
   @Override
   public boolean inMemory() {
     return false;
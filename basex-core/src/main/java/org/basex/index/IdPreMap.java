@@ -33,6 +33,12 @@ public class IdPreMap {
 
   /** Number of records in the table. */
   private int rows;
+  /**
+   * Inserted ID intervals, sorted by their first ID values: first ID in the upper 32 bits,
+   * table index in the lower 32 bits. Created on demand, and invalidated by updates.
+   * Volatile, as the array may be requested by concurrent readers.
+   */
+  private volatile long[] ids;
 
   /**
    * Constructor.
@@ -73,11 +79,11 @@ public class IdPreMap {
     try(final DataOutput out = new DataOutput(f)) {
       out.writeNum(baseid);
       out.writeNum(rows);
-      out.writeNums(pres);
-      out.writeNums(fids);
-      out.writeNums(nids);
-      out.writeNums(incs);
-      out.writeNums(oids);
+      out.writeNums(Arrays.copyOf(pres, rows));
+      out.writeNums(Arrays.copyOf(fids, rows));
+      out.writeNums(Arrays.copyOf(nids, rows));
+      out.writeNums(Arrays.copyOf(incs, rows));
+      out.writeNums(Arrays.copyOf(oids, rows));
     }
   }
 
@@ -91,10 +97,17 @@ public class IdPreMap {
     if(rows == 0 || id < pres[0]) return id;
 
     if(id > baseid) {
-      // id was inserted by update
-      for(int i = 0; i < rows; ++i) {
-        // if(fids[i] == id) return pres[i]; // is this optimization?
-        if(fids[i] <= id && id <= nids[i]) return pres[i] + id - fids[i];
+      // id was inserted by update: find interval with the largest first ID <= id
+      final long[] is = inserted();
+      int low = 0, high = is.length - 1;
+      while(low <= high) {
+        final int mid = low + high >>> 1;
+        if(is[mid] >>> 32 <= id) low = mid + 1;
+        else high = mid - 1;
+      }
+      if(high >= 0) {
+        final int i = (int) is[high];
+        if(id <= nids[i]) return pres[i] + id - fids[i];
       }
     } else {
       // id is affected by updates
@@ -104,6 +117,25 @@ public class IdPreMap {
     return -1;
   }
 
+  /**
+   * Returns the inserted ID intervals, sorted by their first ID values.
+   * @return intervals
+   */
+  private long[] inserted() {
+    long[] is = ids;
+    if(is == null) {
+      is = new long[rows];
+      int c = 0;
+      for(int i = 0; i < rows; ++i) {
+        if(fids[i] >= 0 && fids[i] <= nids[i]) is[c++] = (long) fids[i] << 32 | i;
+      }
+      Arrays.sort(is, 0, c);
+      if(c != rows) is = Arrays.copyOf(is, c);
+      ids = is;
+    }
+    return is;
+  }
+
   /**
    * Find the PRE values of a given list of IDs.
    * @param ids IDs
@@ -124,6 +156,7 @@ public class IdPreMap {
    * @param c number of inserted records
    */
   public void insert(final int pre, final int id, final int c) {
+    ids = null;
     if(rows == 0 && pre == id && id == baseid + 1) {
       // no mapping and we append at the end => nothing to do
       baseid += c;
@@ -182,6 +215,7 @@ public class IdPreMap {
    * @param c number of deleted records
    */
   public void delete(final int pre, final int id, final int c) {
+    ids = null;
     if(rows == 0 && pre == id && id - c == baseid + 1) {
       // no mapping and we delete at the end => nothing to do
       baseid += c;
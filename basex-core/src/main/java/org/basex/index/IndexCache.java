@@ -6,6 +6,7 @@ import java.lang.ref.*;
 import java.util.concurrent.locks.*;
 
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class caches sizes and pointers from index results.
@@ -14,6 +15,13 @@ import org.basex.util.*;
  * @author Dimitar Popov
  */
 public final class IndexCache {
+  /** Cache hits. */
+  private static final Counter HITS = Metrics.counter("basex_index_cache_hits_total",
+      "Index entries that were found in the cache.");
+  /** Cache misses. */
+  private static final Counter MISSES = Metrics.counter("basex_index_cache_misses_total",
+      "Index entries that were not found in the cache.");
+
   /** Queue used to collect unused keys. */
   private final ReferenceQueue<IndexEntry> queue = new ReferenceQueue<>();
   /** Read-write lock. */
@@ -37,13 +45,17 @@ public final class IndexCache {
       BucketEntry e = buckets[i];
       while(e != null) {
         final IndexEntry entry = e.get();
-        if(entry != null && e.hash == hash && eq(entry.key, key)) return entry;
+        if(entry != null && e.hash == hash && eq(entry.key, key)) {
+          HITS.inc();
+          return entry;
+        }
         e = e.next;
       }
     } finally {
       rwl.readLock().unlock();
     }
 
+    MISSES.inc();
     return null;
   }
 
@@ -64,12 +64,15 @@ public final class FTBuilder extends IndexBuilder {
     final Performance perf = Prop.debug ? new Performance() : null;
     Util.debug(det());
 
+    // updatable index: reference ids instead of pre values
+    final boolean upd = data.meta.updindex;
     for(pre = 0; pre < size; ++pre) {
       if((pre & 0xFFFF) == 0) check();
 
       final int k = data.kind(pre);
       if(k != Data.TEXT) continue;
 
+      final int id = upd ? data.id(pre) : pre;
       /* Current lexer position. */
       final StopWords sw = lex.ftOpt().sw;
       lex.init(data.text(pre, true));
@@ -84,7 +87,7 @@ public final class FTBuilder extends IndexBuilder {
             writeIndex(true);
             finishSplit();
           }
-          tree.index(tok, pre, pos, splits);
+          tree.index(tok, id, pos, splits);
           count++;
         }
       }
@@ -100,7 +103,7 @@ public final class FTBuilder extends IndexBuilder {
   @Override
   public FTIndex build() throws IOException {
     index();
-    return new FTIndex(data);
+    return data.meta.updindex ? new UpdatableFTIndex(data) : new FTIndex(data);
   }
 
   /**
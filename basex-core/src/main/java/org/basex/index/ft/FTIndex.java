@@ -43,10 +43,13 @@ import org.basex.util.list.*;
  *   {@code pre1/pos1, pre2/pos2, pre3/pos3, ...} [{@link Num}]</li>
  * </ul>
  *
+ * <p>If {@link MetaData#updindex} is enabled, id values are stored instead of pre values,
+ * and updates are maintained by the {@link UpdatableFTIndex} class.</p>
+ *
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
  */
-public final class FTIndex implements Index {
+public class FTIndex implements Index {
   /** Entry size. */
   private static final int ENTRY = 9;
 
@@ -55,7 +58,7 @@ public final class FTIndex implements Index {
   /** Levenshtein reference. */
   private final Levenshtein ls = new Levenshtein();
   /** Data reference. */
-  private final Data data;
+  protected final Data data;
 
   /** Index storing each unique token length and pointer
    * on the first token with this length. */
@@ -113,7 +116,7 @@ public final class FTIndex implements Index {
     final FTOpt opt = ((FTLexer) it).ftOpt();
     if(opt.is(FZ) || opt.is(WC)) return Math.max(1, data.meta.size >> 4);
 
-    return entry(tok).size;
+    return entry(tok).size + added(tok);
   }
 
   @Override
@@ -132,7 +135,10 @@ public final class FTIndex implements Index {
 
     // return cached or new result
     final IndexEntry e = entry(tok);
-    return e.size > 0 ? iter(e.pointer, e.size, inZ, tok) : FTIndexIterator.FTEMPTY;
+    final IntList pr = new IntList(e.size), ps = new IntList(e.size);
+    if(e.size > 0) read(e.pointer, e.size, pr, ps);
+    added(tok, pr, ps);
+    return pr.isEmpty() ? FTIndexIterator.FTEMPTY : iter(new FTCache(pr, ps), tok);
   }
 
   /**
@@ -163,8 +169,9 @@ public final class FTIndex implements Index {
           final byte[] entry = inY.readBytes(i, ti);
           if(startsWith(entry, prefix)) {
             final long poi = inY.read5();
-            nr = inY.read4();
-            if(prefix.length != 0) cache.add(entry, nr, poi);
+            final int size = inY.read4();
+            if(prefix.length != 0) cache.add(entry, size, poi);
+            nr = valid(poi, size);
             i += ti + ENTRY;
             return entry;
           }
@@ -268,6 +275,15 @@ public final class FTIndex implements Index {
     return r != x && l == r && eq(inY.readBytes(l, tl), token) ? l : -1;
   }
 
+  /**
+   * Checks if the main index contains the specified token.
+   * @param token token
+   * @return result of check
+   */
+  final boolean contains(final byte[] token) {
+    return token.length < tp.length - 1 && token(token) != -1;
+  }
+
   /**
    * Collects all tokens and their sizes found in the index structure.
    * @param stats statistics
@@ -329,11 +345,21 @@ public final class FTIndex implements Index {
       while(i < tp.length && r == -1) r = tp[i++];
       while(p < r) {
         if(ls.similar(inY.readBytes(p, s), token, k)) {
-          it = FTIndexIterator.union(iter(pointer(p, s), size(p, s), inZ, token), it);
+          final int sz = size(p, s);
+          final IntList pr = new IntList(sz), ps = new IntList(sz);
+          read(pointer(p, s), sz, pr, ps);
+          if(!pr.isEmpty()) it = FTIndexIterator.union(iter(new FTCache(pr, ps), token), it);
         }
         p += s + ENTRY;
       }
     }
+    // add entries of updated tokens
+    for(final byte[] t : added()) {
+      if(!ls.similar(t, token, k)) continue;
+      final IntList pr = new IntList(), ps = new IntList();
+      added(t, pr, ps);
+      if(!pr.isEmpty()) it = FTIndexIterator.union(iter(new FTCache(pr, ps), token), it);
+    }
     return it;
   }
 
@@ -362,38 +388,107 @@ public final class FTIndex implements Index {
       while(i < e) {
         final byte[] t = inY.readBytes(i, ti);
         if(!startsWith(t, pref)) break;
-        if(wc.match(t)) {
-          inZ.cursor(pointer(i, ti));
-          final int s = size(i, ti);
-          for(int d = 0; d < s; d++) {
-            pr.add(inZ.readNum());
-            ps.add(inZ.readNum());
-          }
-        }
+        if(wc.match(t)) read(pointer(i, ti), size(i, ti), pr, ps);
         i += ti + ENTRY;
       }
     }
+    // add entries of updated tokens
+    for(final byte[] t : added()) {
+      if(startsWith(t, pref) && wc.match(t)) added(t, pr, ps);
+    }
     return iter(new FTCache(pr, ps), token);
   }
 
   /**
-   * Returns an iterator for an index entry.
+   * Reads the pre and pos values of an index entry.
    * @param off offset on entries
    * @param size number of id/pos entries
-   * @param da data source
-   * @param token index token
-   * @return iterator
+   * @param pr pre values
+   * @param ps pos values
    */
-  private static FTIndexIterator iter(final long off, final int size, final DataAccess da,
-      final byte[] token) {
-    da.cursor(off);
-    final IntList pr = new IntList(size);
-    final IntList ps = new IntList(size);
+  private void read(final long off, final int size, final IntList pr, final IntList ps) {
+    inZ.cursor(off);
     for(int c = 0; c < size; c++) {
-      pr.add(da.readNum());
-      ps.add(da.readNum());
+      final int pre = pre(inZ.readNum());
+      final int pos = inZ.readNum();
+      if(pre == -1) continue;
+      pr.add(pre);
+      ps.add(pos);
     }
-    return iter(new FTCache(pr, ps), token);
+  }
+
+  /**
+   * Returns the number of id/pos entries of an index entry that are not obsolete.
+   * @param off offset on entries
+   * @param size number of id/pos entries
+   * @return number of entries
+   */
+  private synchronized int valid(final long off, final int size) {
+    if(!deleted()) return size;
+    inZ.cursor(off);
+    int c = 0;
+    for(int s = 0; s < size; s++) {
+      if(!deleted(inZ.readNum())) c++;
+      inZ.readNum();
+    }
+    return c;
+  }
+
+  /**
+   * Indicates if entries of the main index have been deleted after the index was built.
+   * @return result of check
+   */
+  protected boolean deleted() {
+    return false;
+  }
+
+  /**
+   * Indicates if the specified entry of the main index has been deleted after the index
+   * was built.
+   * @param id pre value or id
+   * @return result of check
+   */
+  @SuppressWarnings("unused")
+  protected boolean deleted(final int id) {
+    return false;
+  }
+
+  /**
+   * Returns the pre value for the specified index reference.
+   * @param id pre value or id
+   * @return pre value, or {@code -1} if the entry is obsolete
+   */
+  protected int pre(final int id) {
+    return id;
+  }
+
+  /**
+   * Returns the number of entries that have been added for the specified token
+   * after the index was built.
+   * @param token token
+   * @return number of entries
+   */
+  @SuppressWarnings("unused")
+  protected int added(final byte[] token) {
+    return 0;
+  }
+
+  /**
+   * Adds the pre and pos values of entries that have been added for the specified token
+   * after the index was built.
+   * @param token token
+   * @param pr pre values
+   * @param ps pos values
+   */
+  @SuppressWarnings("unused")
+  protected void added(final byte[] token, final IntList pr, final IntList ps) { }
+
+  /**
+   * Returns all tokens for which entries have been added after the index was built.
+   * @return tokens
+   */
+  protected TokenList added() {
+    return new TokenList(0);
   }
 
   /**
@@ -0,0 +1,261 @@
+package org.basex.index.ft;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.data.*;
+import org.basex.index.query.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.ft.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+
+/**
+ * This class provides access to an updatable full-text index structure.
+ * The main index, which is described in the {@link FTIndex} class, references id values
+ * and remains unchanged. Updates are maintained in an additional, smaller index structure:
+ * new tokens are added to a map, and the ids of deleted or replaced text nodes are
+ * excluded from the main index. Both structures are merged if the index is rebuilt via
+ * {@code OPTIMIZE}. The additional file has the prefix {@link DataText#DATAFTX} and
+ * the following format:
+ *
+ * <ul>
+ * <li>File <b>u</b> contains the added entries and the deleted ids:<br/>
+ * Structure: {@code [n, [t, e] ..., d]}<br/>
+ * {@code n} is the number of added tokens [{@link Num}]<br/>
+ * {@code t} is a token [token]<br/>
+ * {@code e} contains the id/pos values of a token [{@link Num} array]<br/>
+ * {@code d} contains the deleted ids [{@link Num} array]
+ * </li>
+ * </ul>
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class UpdatableFTIndex extends FTIndex {
+  /** Added tokens, mapped to id/pos values. */
+  private final TokenObjMap<IntList> adds = new TokenObjMap<>();
+  /** Ids of deleted or replaced entries of the main index. */
+  private final IntSet deletes = new IntSet();
+  /** Word parser. */
+  private final FTLexer lex;
+  /** Indicates if the additional entries need to be written to disk. */
+  private boolean dirty;
+
+  /**
+   * Constructor, initializing the index structure.
+   * @param d data reference
+   * @throws IOException I/O Exception
+   */
+  public UpdatableFTIndex(final Data d) throws IOException {
+    super(d);
+
+    final FTOpt fto = new FTOpt().copy(d.meta);
+    fto.sw = new StopWords();
+    fto.sw.comp(d);
+    lex = new FTLexer(fto);
+
+    final IOFile file = file(d);
+    if(file.exists()) {
+      try(final DataInput in = new DataInput(file)) {
+        for(int n = in.readNum(); n > 0; n--) {
+          final byte[] token = in.readToken();
+          adds.put(token, new IntList(in.readNums()));
+        }
+        for(final int id : in.readNums()) deletes.add(id);
+      }
+    } else {
+      // no update file exists: index has just been created
+      dirty = true;
+      flush();
+    }
+  }
+
+  /**
+   * Indicates if the specified database contains an updatable full-text index.
+   * @param d data reference
+   * @return result of check
+   */
+  public static boolean exists(final Data d) {
+    return file(d).exists();
+  }
+
+  /**
+   * Indicates if the index has been updated after it was built.
+   * @return result of check
+   */
+  public synchronized boolean updated() {
+    return !adds.isEmpty() || !deletes.isEmpty();
+  }
+
+  /**
+   * Indexes the tokens of a new text node.
+   * @param id id of the text node
+   * @param text text
+   */
+  public synchronized void index(final int id, final byte[] text) {
+    final StopWords sw = lex.ftOpt().sw;
+    lex.init(text);
+    int pos = -1;
+    while(lex.hasNext()) {
+      final byte[] tok = lex.nextToken();
+      ++pos;
+      // skip too long and stopword tokens
+      if(tok.length > data.meta.maxlen || !sw.isEmpty() && sw.contains(tok)) continue;
+      IntList il = adds.get(tok);
+      if(il == null) {
+        il = new IntList(2);
+        adds.put(tok, il);
+      }
+      il.add(id);
+      il.add(pos);
+    }
+    dirty = true;
+  }
+
+  /**
+   * Removes the tokens of a deleted or replaced text node.
+   * @param id id of the text node
+   * @param text text
+   */
+  public synchronized void delete(final int id, final byte[] text) {
+    // remove the entries of the main index
+    deletes.add(id);
+    // remove added entries
+    lex.init(text);
+    while(lex.hasNext()) {
+      final IntList il = adds.get(lex.nextToken());
+      if(il == null) continue;
+      final int s = il.size();
+      int n = 0;
+      for(int i = 0; i < s; i += 2) {
+        final int v = il.get(i);
+        if(v == id) continue;
+        il.set(n++, v);
+        il.set(n++, il.get(i + 1));
+      }
+      il.size(n);
+    }
+    dirty = true;
+  }
+
+  /**
+   * Writes the updated entries to disk.
+   */
+  public synchronized void flush() {
+    if(!dirty) return;
+    try(final DataOutput out = new DataOutput(file(data))) {
+      final TokenList tokens = added();
+      out.writeNum(tokens.size());
+      for(final byte[] token : tokens) {
+        out.writeToken(token);
+        out.writeNums(adds.get(token).toArray());
+      }
+      out.writeNums(deletes.toArray());
+      dirty = false;
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    flush();
+    super.close();
+  }
+
+  @Override
+  public synchronized EntryIterator entries(final IndexEntries entries) {
+    final EntryIterator ei = super.entries(entries);
+    // tokens that do not exist in the main index
+    final byte[] prefix = entries.get();
+    final TokenList tokens = new TokenList();
+    for(final byte[] token : added()) {
+      if(startsWith(token, prefix) && !contains(token)) tokens.add(token);
+    }
+    tokens.sort(true);
+
+    return new EntryIterator() {
+      boolean more = true;
+      int t, nr;
+
+      @Override
+      public byte[] next() {
+        while(more) {
+          final byte[] n = ei.next();
+          if(n == null) {
+            more = false;
+          } else {
+            // skip tokens whose entries have all been deleted
+            nr = ei.count() + added(n);
+            if(nr > 0) return n;
+          }
+        }
+        if(t == tokens.size()) return null;
+        final byte[] token = tokens.get(t++);
+        nr = added(token);
+        return token;
+      }
+
+      @Override
+      public int count() {
+        return nr;
+      }
+    };
+  }
+
+  @Override
+  protected int pre(final int id) {
+    return deleted(id) ? -1 : data.pre(id);
+  }
+
+  @Override
+  protected synchronized boolean deleted() {
+    return !deletes.isEmpty();
+  }
+
+  @Override
+  protected synchronized boolean deleted(final int id) {
+    return deletes.contains(id);
+  }
+
+  @Override
+  protected synchronized int added(final byte[] token) {
+    final IntList il = adds.get(token);
+    return il == null ? 0 : il.size() >> 1;
+  }
+
+  @Override
+  protected synchronized void added(final byte[] token, final IntList pr, final IntList ps) {
+    final IntList il = adds.get(token);
+    if(il == null) return;
+    final int s = il.size();
+    for(int i = 0; i < s; i += 2) {
+      pr.add(data.pre(il.get(i)));
+      ps.add(il.get(i + 1));
+    }
+  }
+
+  @Override
+  protected synchronized TokenList added() {
+    final TokenList tl = new TokenList(adds.size());
+    for(final byte[] token : adds) {
+      if(!adds.get(token).isEmpty()) tl.add(token);
+    }
+    return tl;
+  }
+
+  /**
+   * Returns a reference to the file with the updated entries.
+   * @param d data reference
+   * @return file
+   */
+  private static IOFile file(final Data d) {
+    return d.meta.dbfile(DATAFTX + 'u');
+  }
+}
@@ -16,6 +16,7 @@ import org.basex.io.random.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class provides access to attribute values and text contents stored on
@@ -38,6 +39,8 @@ public class DiskValues implements Index {
   /** Cached texts. Increases used memory, but speeds up repeated queries. */
   final IntObjMap<byte[]> ctext = new IntObjMap<>();
 
+  /** Index lookups. */
+  private final Counter lookups;
   /** Synchronization object. */
   private final Object monitor = new Object();
   /** Number of current index entries. */
@@ -63,6 +66,8 @@ public class DiskValues implements Index {
   DiskValues(final Data d, final boolean txt, final String pref) throws IOException {
     data = d;
     text = txt;
+    lookups = Metrics.counter("basex_index_lookups_total", "Lookups in value indexes.",
+        "index", txt ? "text" : "attribute");
     idxl = new DataAccess(d.meta.dbfile(pref + 'l'));
     idxr = new DataAccess(d.meta.dbfile(pref + 'r'));
     size.set(idxl.read4());
@@ -102,6 +107,7 @@ public class DiskValues implements Index {
 
   @Override
   public IndexIterator iter(final IndexToken it) {
+    lookups.inc();
     if(it instanceof StringRange) return idRange((StringRange) it);
     if(it instanceof NumericRange) return idRange((NumericRange) it);
     final IndexEntry e = entry(it.get());
@@ -31,6 +31,22 @@ public final class EncodingOutput extends OutputStream {
     os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    // write chunks of bytes that need no encoding at once
+    final int l = off + len;
+    int s = off;
+    for(int o = off; o < l; o++) {
+      final byte c = b[o];
+      if(c == 0x00 || c == (byte) 0xFF) {
+        if(o > s) os.write(b, s, o - s);
+        os.write(0xFF);
+        s = o;
+      }
+    }
+    if(l > s) os.write(b, s, l - s);
+  }
+
   @Override
   public void flush() throws IOException {
     os.flush();
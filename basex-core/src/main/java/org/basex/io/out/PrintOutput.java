@@ -69,6 +69,18 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(os == null) {
+      // sub classes without output stream: write single bytes
+      super.write(b, off, len);
+    } else {
+      final long l = Math.min(len, max - size);
+      if(l > 0) os.write(b, off, (int) l);
+      size += len;
+    }
+  }
+
   /**
    * Writes a character as UTF8.
    * @param ch character to be printed
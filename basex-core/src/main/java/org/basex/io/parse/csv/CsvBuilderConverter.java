@@ -0,0 +1,85 @@
+package org.basex.io.parse.csv;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.io.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * This class converts CSV data to XML, using direct or attributes conversion.
+ * All nodes are directly passed on to a database builder.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvBuilderConverter extends CsvConverter {
+  /** Chop whitespaces. */
+  private final boolean chop;
+
+  /** Database builder. */
+  private final Builder builder;
+  /** Attributes. */
+  private final Atts at = new Atts();
+  /** Namespaces. */
+  private final Atts ns = new Atts();
+  /** Record. */
+  private boolean record;
+
+  /**
+   * Constructor.
+   * @param opts CSV options
+   * @param build database builder
+   * @param ch chop whitespaces
+   */
+  public CsvBuilderConverter(final CsvParserOptions opts, final Builder build,
+      final boolean ch) {
+    super(opts);
+    builder = build;
+    chop = ch;
+  }
+
+  @Override
+  public void convert(final IO input) throws IOException {
+    builder.openElem(CSV, at, ns);
+    super.convert(input);
+    if(record) builder.closeElem();
+    builder.closeElem();
+  }
+
+  @Override
+  public void record() throws IOException {
+    if(record) builder.closeElem();
+    builder.openElem(RECORD, at, ns);
+    record = true;
+    col = 0;
+  }
+
+  @Override
+  public void entry(final byte[] entry) throws IOException {
+    final byte[] name = name();
+    byte[] elem = ENTRY;
+    at.clear();
+    if(atts) {
+      if(name != null) at.add(NAME, name);
+    } else if(name != null) {
+      elem = name;
+    }
+    builder.openElem(elem, at, ns);
+    builder.text(chop ? trim(entry) : entry);
+    builder.closeElem();
+    at.clear();
+  }
+
+  /**
+   * Returns {@code null}, as all nodes have been passed on to the builder.
+   * @return {@code null}
+   */
+  @Override
+  public Item finish() {
+    return null;
+  }
+}
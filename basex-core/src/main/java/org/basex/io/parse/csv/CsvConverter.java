@@ -1,12 +1,17 @@
 package org.basex.io.parse.csv;
 
+import static org.basex.util.Token.*;
+
 import java.io.*;
 
 import org.basex.build.*;
+import org.basex.build.CsvOptions.CsvFormat;
 import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * <p>This class converts CSV input to XML.</p>
@@ -15,15 +20,35 @@ import org.basex.query.value.item.*;
  * @author Christian Gruen
  */
 public abstract class CsvConverter {
+  /** CSV token. */
+  static final byte[] CSV = token("csv");
+  /** CSV token. */
+  static final byte[] RECORD = token("record");
+  /** CSV token. */
+  static final byte[] ENTRY = token("entry");
+  /** CSV token. */
+  static final byte[] NAME = token("name");
+
+  /** Headers. */
+  final TokenList headers = new TokenList();
+  /** Attributes format. */
+  final boolean atts;
+  /** Lax QName conversion. */
+  final boolean lax;
+  /** Current column. */
+  int col;
+
   /** CSV options. */
   private final CsvParserOptions copts;
 
   /**
    * Constructor.
-   * @param opts json options
+   * @param opts CSV options
    */
   CsvConverter(final CsvParserOptions opts) {
     copts = opts;
+    lax = opts.get(CsvOptions.LAX);
+    atts = opts.get(CsvOptions.FORMAT) == CsvFormat.ATTRIBUTES;
   }
 
   /**
@@ -32,9 +57,10 @@ public abstract class CsvConverter {
    * @throws IOException I/O exception
    */
   public void convert(final IO input) throws IOException {
-    final String encoding = copts.get(CsvParserOptions.ENCODING);
-    final String csv = new NewlineInput(input).encoding(encoding).cache().toString();
-    CsvParser.parse(csv, copts, this);
+    try(final TextInput ti = new TextInput(input)) {
+      ti.encoding(copts.get(CsvParserOptions.ENCODING));
+      CsvParser.parse(ti, copts, this);
+    }
   }
 
   /**
@@ -50,22 +76,34 @@ public abstract class CsvConverter {
   }
 
   /**
-   * Adds a new header.
+   * Adds a new header. Header names are converted to valid element names,
+   * unless the attributes format is chosen.
    * @param string string
    */
-  abstract void header(final byte[] string);
+  void header(final byte[] string) {
+    headers.add(atts ? string : XMLToken.encode(string, lax));
+  }
+
+  /**
+   * Returns the header name of the next entry and advances the column.
+   * @return name, or {@code null} if no header was specified for the column
+   */
+  final byte[] name() {
+    return headers.get(col++);
+  }
 
   /**
    * Adds a new record.
+   * @throws IOException I/O exception
    */
-  abstract void record();
+  abstract void record() throws IOException;
 
   /**
    * Called when an entry is encountered.
    * @param value string
-   * @throws QueryIOException query exception
+   * @throws IOException I/O exception
    */
-  abstract void entry(final byte[] value) throws QueryIOException;
+  abstract void entry(final byte[] value) throws IOException;
 
   /**
    * Returns the resulting XQuery value.
@@ -1,12 +1,7 @@
 package org.basex.io.parse.csv;
 
-import static org.basex.util.Token.*;
-
 import org.basex.build.*;
-import org.basex.build.CsvOptions.*;
 import org.basex.query.value.node.*;
-import org.basex.util.*;
-import org.basex.util.list.*;
 
 /**
  * This class converts CSV data to XML, using direct or attributes conversion.
@@ -15,28 +10,12 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 final class CsvDirectConverter extends CsvConverter {
-  /** CSV token. */
-  private static final byte[] CSV = token("csv");
-  /** CSV token. */
-  private static final byte[] RECORD = token("record");
-  /** CSV token. */
-  private static final byte[] ENTRY = token("entry");
-  /** CSV token. */
-  private static final byte[] NAME = token("name");
 
-  /** Headers. */
-  private final TokenList headers = new TokenList();
-  /** Attributes format. */
-  private final boolean atts;
-  /** Lax QName conversion. */
-  private final boolean lax;
 
   /** Root node. */
   private final FElem root = new FElem(CSV);
   /** Record. */
   private FElem record;
-  /** Current column. */
-  private int col;
 
   /**
    * Constructor.
@@ -44,8 +23,6 @@ final class CsvDirectConverter extends CsvConverter {
    */
   CsvDirectConverter(final CsvParserOptions opts) {
     super(opts);
-    lax = opts.get(CsvOptions.LAX);
-    atts = opts.get(CsvOptions.FORMAT) == CsvFormat.ATTRIBUTES;
   }
 
   @Override
@@ -55,14 +32,9 @@ final class CsvDirectConverter extends CsvConverter {
     col = 0;
   }
 
-  @Override
-  public void header(final byte[] value) {
-    headers.add(atts ? value : XMLToken.encode(value, lax));
-  }
-
   @Override
   public void entry(final byte[] entry) {
-    final byte[] name = headers.get(col++);
+    final byte[] name = name();
     final FElem e;
     if(atts) {
       e = new FElem(ENTRY);
@@ -1,7 +1,5 @@
 package org.basex.io.parse.csv;
 
-import static org.basex.util.Token.*;
-
 import java.util.*;
 
 import org.basex.build.*;
@@ -9,7 +7,6 @@ import org.basex.query.*;
 import org.basex.query.iter.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.map.Map;
-import org.basex.util.list.*;
 
 /**
  * This class converts CSV data to an XQuery map.
@@ -18,18 +15,11 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 final class CsvMapConverter extends CsvConverter {
-  /** CSV token. */
-  private static final byte[] ENTRY = token("entry");
-
-  /** Headers. */
-  private final TokenList headers = new TokenList();
   /** All records. */
   private final ArrayList<ValueBuilder> records = new ArrayList<>();
 
   /** Current record. */
   private ValueBuilder record = new ValueBuilder();
-  /** Current column. */
-  private int col;
 
   /**
    * Constructor.
@@ -57,7 +47,7 @@ final class CsvMapConverter extends CsvConverter {
     if(headers.isEmpty()) {
       record.add(Str.get(value));
     } else {
-      byte[] name = headers.get(col++);
+      byte[] name = name();
       if(name == null) name = ENTRY;
       try {
         record.set(((Map) record.get(0)).insert(Str.get(name), Str.get(value), null), 0);
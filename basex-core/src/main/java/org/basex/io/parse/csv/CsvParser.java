@@ -1,7 +1,9 @@
 package org.basex.io.parse.csv;
 
+import java.io.*;
+
 import org.basex.build.*;
-import org.basex.query.*;
+import org.basex.io.in.*;
 import org.basex.util.*;
 
 /**
@@ -10,7 +12,9 @@ import org.basex.util.*;
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
  */
-final class CsvParser extends InputParser {
+final class CsvParser {
+  /** Input. */
+  private final TextInput input;
   /** Converter. */
   private final CsvConverter conv;
   /** Header flag. */
@@ -26,6 +30,10 @@ final class CsvParser extends InputParser {
   private boolean quoted;
   /** Data mode. */
   private boolean data;
+  /** Last character was a carriage return. */
+  private boolean cr;
+  /** Character that has been read ahead ({@code -2}: none). */
+  private int next = -2;
 
   /**
    * Constructor.
@@ -33,8 +41,8 @@ final class CsvParser extends InputParser {
    * @param opts options
    * @param cnv converter
    */
-  private CsvParser(final String in, final CsvParserOptions opts, final CsvConverter cnv) {
-    super(in);
+  private CsvParser(final TextInput in, final CsvParserOptions opts, final CsvConverter cnv) {
+    input = in;
     header = opts.get(CsvOptions.HEADER);
     separator = opts.separator();
     quotes = opts.get(CsvOptions.QUOTES);
@@ -42,32 +50,42 @@ final class CsvParser extends InputParser {
   }
 
   /**
-   * Parses the input string, directs the parse events to the given handler and returns
-   * the resulting value.
-   * @param input input string
+   * Parses the input, directs the parse events to the given handler and returns
+   * the resulting value. The input is processed as a stream.
+   * @param input input
    * @param opts options
    * @param conv converter
-   * @throws QueryIOException parse exception
+   * @throws IOException I/O exception
    */
-  static void parse(final String input, final CsvParserOptions opts, final CsvConverter conv)
-      throws QueryIOException {
+  static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
+      throws IOException {
     new CsvParser(input, opts, conv).parse();
   }
 
   /**
    * Parses a CSV expression.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void parse() throws QueryIOException {
+  private void parse() throws IOException {
     final TokenBuilder entry = new TokenBuilder();
     data = !header;
 
-    for(char ch; (ch = consume()) != 0;) {
+    for(int ch; (ch = read()) != -1;) {
+      // normalize newlines
+      if(cr && ch == '\n') {
+        cr = false;
+        continue;
+      }
+      cr = ch == '\r';
+      if(cr) ch = '\n';
+
       if(quoted) {
         // quoted state
         if(ch == '"') {
-          if(!consume('"')) {
+          final int nx = read();
+          if(nx != '"') {
             quoted = false;
+            next = nx;
             continue;
           }
         }
@@ -92,13 +110,25 @@ final class CsvParser extends InputParser {
     record(entry, !entry.isEmpty());
   }
 
+  /**
+   * Returns the next character.
+   * @return next character, or {@code -1}
+   * @throws IOException I/O exception
+   */
+  private int read() throws IOException {
+    final int ch = next;
+    if(ch == -2) return input.read();
+    next = -2;
+    return ch;
+  }
+
   /**
    * Adds a new record and entry.
    * @param entry entry to be added
    * @param record add new record
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void record(final TokenBuilder entry, final boolean record) throws QueryIOException {
+  private void record(final TokenBuilder entry, final boolean record) throws IOException {
     if(record && first && data) conv.record();
     if(record || !first) {
       if(data) {
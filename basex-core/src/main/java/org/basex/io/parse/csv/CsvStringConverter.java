@@ -1,13 +1,8 @@
 package org.basex.io.parse.csv;
 
-import static org.basex.util.Token.*;
-
 import org.basex.build.*;
-import org.basex.build.CsvOptions.CsvFormat;
 import org.basex.io.parse.*;
 import org.basex.query.value.item.*;
-import org.basex.util.*;
-import org.basex.util.list.*;
 
 /**
  * This class converts CSV data to XML, using direct or attributes conversion.
@@ -16,28 +11,12 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class CsvStringConverter extends CsvConverter {
-  /** CSV token. */
-  private static final byte[] CSV = token("csv");
-  /** CSV token. */
-  private static final byte[] RECORD = token("record");
-  /** CSV token. */
-  private static final byte[] ENTRY = token("entry");
-  /** CSV token. */
-  private static final byte[] NAME = token("name");
 
-  /** Headers. */
-  private final TokenList headers = new TokenList();
-  /** Attributes format. */
-  private final boolean atts;
-  /** Lax QName conversion. */
-  private final boolean lax;
 
   /** XML string. */
   private final XmlTokenBuilder xml = new XmlTokenBuilder();
   /** Record. */
   private boolean record;
-  /** Current column. */
-  private int col;
 
   /**
    * Constructor.
@@ -45,8 +24,6 @@ public final class CsvStringConverter extends CsvConverter {
    */
   public CsvStringConverter(final CsvParserOptions opts) {
     super(opts);
-    lax = opts.get(CsvOptions.LAX);
-    atts = opts.get(CsvOptions.FORMAT) == CsvFormat.ATTRIBUTES;
     xml.openElement(CSV);
   }
 
@@ -58,14 +35,9 @@ public final class CsvStringConverter extends CsvConverter {
     col = 0;
   }
 
-  @Override
-  public void header(final byte[] value) {
-    headers.add(atts ? value : XMLToken.encode(value, lax));
-  }
-
   @Override
   public void entry(final byte[] entry) {
-    final byte[] name = headers.get(col++);
+    final byte[] name = name();
     byte[] elem = ENTRY, attr = null;
     if(atts) {
       attr = name;
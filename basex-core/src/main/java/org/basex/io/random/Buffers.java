@@ -1,5 +1,7 @@
 package org.basex.io.random;
 
+import org.basex.util.metrics.*;
+
 /**
  * This class provides a simple, clock-based buffer management.
  *
@@ -7,12 +9,30 @@ package org.basex.io.random;
  * @author Christian Gruen
  */
 final class Buffers {
+  /** Buffer hits. */
+  private static final Counter HITS = Metrics.counter("basex_buffer_hits_total",
+      "Block requests that were served from a buffer.");
+  /** Buffer misses. */
+  private static final Counter MISSES = Metrics.counter("basex_buffer_misses_total",
+      "Block requests that required a block to be read from disk.");
+
+  /** Bytes read from disk. */
+  static final Counter READ = Metrics.counter("basex_storage_read_bytes_total",
+      "Bytes read from database files.");
+  /** Bytes written to disk. */
+  static final Counter WRITTEN = Metrics.counter("basex_storage_written_bytes_total",
+      "Bytes written to database files.");
+
   /** Number of buffers (must be 1 << n). */
   private static final int BUFFERS = 1 << 4;
+  /** Number of local buffer hits after which they are added to the global counter. */
+  private static final int HITSTEP = 1 << 10;
   /** Buffers. */
   private final Buffer[] buf = new Buffer[BUFFERS];
   /** Current buffer offset. */
   private int off;
+  /** Buffer hits that have not been added to the global counter yet. */
+  private int hits;
 
   /**
    * Constructor.
@@ -45,9 +65,30 @@ final class Buffers {
   boolean cursor(final long p) {
     final int o = off;
     do {
-      if(buf[off].pos == p) return false;
+      if(buf[off].pos == p) {
+        hit();
+        return false;
+      }
     } while((off = off + 1 & BUFFERS - 1) != o);
     off = o + 1 & BUFFERS - 1;
+    MISSES.inc();
     return true;
   }
+
+  /**
+   * Registers a request that has been served by the current buffer. Hits are counted
+   * locally and added to the global counter in steps, as requests for the current
+   * buffer are frequent and need to be cheap.
+   */
+  void hit() {
+    if(++hits == HITSTEP) count();
+  }
+
+  /**
+   * Adds the locally counted buffer hits to the global counter.
+   */
+  void count() {
+    HITS.add(hits);
+    hits = 0;
+  }
 }
@@ -59,6 +59,7 @@ public final class DataAccess implements AutoCloseable {
   @Override
   public synchronized void close() {
     flush();
+    bm.count();
     try {
       file.close();
     } catch(final IOException ex) {
@@ -241,8 +242,11 @@ public final class DataAccess implements AutoCloseable {
       if(bf.dirty) writeBlock(bf);
       bf.pos = b;
       file.seek(bf.pos);
-      if(bf.pos < file.length())
-        file.readFully(bf.data, 0, (int) Math.min(len - bf.pos, IO.BLOCKSIZE));
+      if(bf.pos < file.length()) {
+        final int l = (int) Math.min(len - bf.pos, IO.BLOCKSIZE);
+        file.readFully(bf.data, 0, l);
+        Buffers.READ.add(l);
+      }
     } catch(final IOException ex) {
       Util.stack(ex);
     }
@@ -447,6 +451,7 @@ public final class DataAccess implements AutoCloseable {
   private void writeBlock(final Buffer bf) throws IOException {
     file.seek(bf.pos);
     file.write(bf.data);
+    Buffers.WRITTEN.add(IO.BLOCKSIZE);
     bf.dirty = false;
   }
 
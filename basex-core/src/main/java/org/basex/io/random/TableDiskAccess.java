@@ -4,18 +4,33 @@ import static org.basex.data.DataText.*;
 
 import java.io.*;
 import java.nio.channels.*;
+import java.nio.file.*;
 import java.util.*;
 
 import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.io.in.DataInput;
+import org.basex.io.out.*;
 import org.basex.io.out.DataOutput;
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class stores the table on disk and reads it block-wise.
  *
+ * Modified blocks are appended to a sequential log file instead of being written in place.
+ * When the table is flushed, the changes are committed: the page index is appended to the log,
+ * and the log is synced with the storage device. The logged blocks are written in place by a
+ * checkpoint, which takes place when the log exceeds {@link #CHECKPOINT} bytes. The log is
+ * kept when the table is closed: if the table is opened again, committed blocks and the latest
+ * page index are read from the log, and changes that have not been committed are ignored.
+ *
+ * If a thread has registered a process (see {@link #defer()}), the log is synced after the
+ * locks of the process have been released. Other processes may commit their changes in the
+ * meantime, and a single sync will be performed for all commits that are waiting for it
+ * (group commit).
+ *
  * NOTE: this class is not thread-safe.
  *
  * @author BaseX Team 2005-14, BSD License
@@ -23,6 +38,19 @@ import org.basex.util.*;
  * @author Tim Petrowsky
  */
 public final class TableDiskAccess extends TableAccess {
+  /** Log size after which a checkpoint is performed. */
+  public static final long CHECKPOINT = 1 << 24;
+  /** Syncs of logs. */
+  private static final Counter SYNCS = Metrics.counter("basex_storage_log_syncs_total",
+      "Syncs of table logs with the storage device.");
+  /** Commits of the current thread that will be synced when its locks have been released. */
+  private static final ThreadLocal<Deferred> DEFERRED = new ThreadLocal<Deferred>() {
+    @Override
+    protected Deferred initialValue() {
+      return new Deferred();
+    }
+  };
+
   /** Buffer manager. */
   private final Buffers bm = new Buffers();
   /** File storing all blocks. */
@@ -31,6 +59,24 @@ public final class TableDiskAccess extends TableAccess {
   private BitArray usedPages;
   /** File lock. */
   private FileLock fl;
+  /** Log of the changes since the last checkpoint ({@code null} if no changes). */
+  private RandomAccessFile log;
+  /** Size of the log. Data beyond this offset belongs to a failed write operation. */
+  private long logSize;
+  /** Log offsets of the latest versions of blocks, incremented by one (0: block not logged). */
+  private long[] logged = {};
+  /** Indicates if the log contains changes that have not been committed yet. */
+  private boolean uncommitted;
+  /** Indicates if a page index has been committed to the log. */
+  private boolean loggedIndex;
+  /** Monitor for syncing the log. */
+  private final Object monitor = new Object();
+  /** Number of commits. */
+  private volatile long commits;
+  /** Number of commits that have been synced (guarded by {@link #monitor}). */
+  private long synced;
+  /** Indicates if the log is currently being synced (guarded by {@link #monitor}). */
+  private boolean syncing;
 
   /** First pre values (ascending order); will be initialized with the first update. */
   private int[] fpres;
@@ -58,8 +104,17 @@ public final class TableDiskAccess extends TableAccess {
   public TableDiskAccess(final MetaData md, final boolean lock) throws IOException {
     super(md);
 
-    // read meta and index data
-    try(final DataInput in = new DataInput(meta.dbfile(DATATBL + 'i'))) {
+    // initialize data file
+    file = new RandomAccessFile(meta.dbfile(DATATBL).file(), "rw");
+    if(lock ? !exclusiveLock() : !sharedLock()) {
+      file.close();
+      throw new BaseXException(Text.DB_PINNED_X, md.name);
+    }
+
+    // read meta and index data (the latest page index may have been committed to the log)
+    final byte[] index = load();
+    try(final DataInput in = new DataInput(index != null ? new IOContent(index) :
+      meta.dbfile(DATATBL + 'i'))) {
       final int b = in.readNum();
       blocks = b;
 
@@ -81,12 +136,6 @@ public final class TableDiskAccess extends TableAccess {
         usedPages = new BitArray(in.readLongs(psize), used);
       }
     }
-
-    // initialize data file
-    file = new RandomAccessFile(meta.dbfile(DATATBL).file(), "rw");
-    if(lock) exclusiveLock();
-    else sharedLock();
-    if(fl == null) throw new BaseXException(Text.DB_PINNED_X, md.name);
   }
 
   /**
@@ -108,12 +157,168 @@ public final class TableDiskAccess extends TableAccess {
     }
   }
 
+  /**
+   * Defers the sync of logs that are committed by the current thread until
+   * {@link #syncDeferred()} is called. Calls can be nested.
+   */
+  public static void defer() {
+    DEFERRED.get().level++;
+  }
+
+  /**
+   * Syncs the logs that have been committed by the current thread since the outermost
+   * call of {@link #defer()}.
+   */
+  public static void syncDeferred() {
+    final Deferred deferred = DEFERRED.get();
+    if(--deferred.level > 0) return;
+    for(final Map.Entry<TableDiskAccess, Long> entry : deferred.commits.entrySet()) {
+      try {
+        entry.getKey().sync(entry.getValue());
+      } catch(final IOException ex) {
+        Util.stack(ex);
+      }
+    }
+    deferred.commits.clear();
+  }
+
   @Override
-  public synchronized void flush() throws IOException {
-    for(final Buffer b : bm.all()) if(b.dirty) writeBlock(b);
-    if(!dirty) return;
+  public void flush() throws IOException {
+    final long commit = commit();
+    if(commit == 0) return;
+
+    final Deferred deferred = DEFERRED.get();
+    if(deferred.level > 0) deferred.commits.put(this, commit);
+    else sync(commit);
+  }
+
+  /**
+   * Commits all changes to the log. The log is not synced with the storage device.
+   * @return number of the commit, to be passed on to {@link #sync(long)}, or {@code 0} if
+   *   there was nothing to commit
+   * @throws IOException I/O exception
+   */
+  public synchronized long commit() throws IOException {
+    // collect dirty blocks in ascending order
+    final ArrayList<Buffer> bufs = new ArrayList<>();
+    for(final Buffer b : bm.all()) if(b.dirty) bufs.add(b);
+    if(bufs.isEmpty() && !dirty && !uncommitted) return 0;
+    Collections.sort(bufs, new Comparator<Buffer>() {
+      @Override
+      public int compare(final Buffer b1, final Buffer b2) {
+        return Long.compare(b1.pos, b2.pos);
+      }
+    });
+
+    // append blocks, page index and trailer to the log
+    final ArrayOutput ao = new ArrayOutput();
+    final long[] offsets = new long[bufs.size()];
+    try(final DataOutput out = new DataOutput(ao)) {
+      int o = 0;
+      for(final Buffer b : bufs) offsets[o++] = logSize + record(b, out);
+      out.writeBool(false);
+      out.writeBool(dirty);
+      if(dirty) {
+        final byte[] index = index();
+        out.write4(index.length);
+        out.writeBytes(index);
+      }
+      // the trailing offset indicates that the commit is complete
+      out.write5(logSize + out.size());
+    }
+    append(ao.toArray());
+
+    for(int o = 0; o < offsets.length; o++) logged(bufs.get(o), offsets[o]);
+    loggedIndex |= dirty;
+    uncommitted = false;
+    dirty = false;
+    final long commit = ++commits;
+    if(logSize > CHECKPOINT) checkpoint();
+    return commit;
+  }
+
+  /**
+   * Waits until the specified commit has been synced with the storage device. If the log is
+   * not currently being synced, the calling thread syncs it for all commits that have been
+   * written so far. Otherwise, it waits for the running sync, which may include its commit.
+   * @param commit number of the commit
+   * @throws IOException I/O exception
+   */
+  public void sync(final long commit) throws IOException {
+    synchronized(monitor) {
+      while(synced < commit && syncing) {
+        try {
+          monitor.wait();
+        } catch(final InterruptedException ex) {
+          Util.debug(ex);
+        }
+      }
+      if(synced >= commit) return;
+      syncing = true;
+    }
+
+    final long c = commits;
+    boolean ok = false;
+    try {
+      // the log may have been closed in the meantime, so it is opened again
+      try(final FileChannel fc = FileChannel.open(meta.dbfile(DATATBL + 'l').file().toPath(),
+          StandardOpenOption.WRITE)) {
+        fc.force(true);
+        SYNCS.inc();
+      } catch(final NoSuchFileException ex) {
+        // the log has been deleted by a checkpoint, which synced all changes
+        Util.debug(ex);
+      }
+      ok = true;
+    } finally {
+      synchronized(monitor) {
+        syncing = false;
+        if(ok && c > synced) synced = c;
+        monitor.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Writes all committed blocks and the page index in place, syncs the table files with the
+   * storage device, and deletes the log. Must only be called if all changes have been committed.
+   * @throws IOException I/O exception
+   */
+  private void checkpoint() throws IOException {
+    if(log == null) return;
+
+    final byte[] data = new byte[IO.BLOCKSIZE];
+    for(int b = 0; b < logged.length; b++) {
+      if(logged[b] == 0) continue;
+      log.seek(logged[b] - 1);
+      log.readFully(data);
+      file.seek((long) b * IO.BLOCKSIZE);
+      file.write(data);
+      Buffers.WRITTEN.add(IO.BLOCKSIZE);
+    }
+    file.getFD().sync();
+    if(loggedIndex) sync(meta.dbfile(DATATBL + 'i'), index());
+    synchronized(monitor) {
+      synced = commits;
+      monitor.notifyAll();
+    }
 
-    try(final DataOutput out = new DataOutput(meta.dbfile(DATATBL + 'i'))) {
+    log.close();
+    log = null;
+    meta.dbfile(DATATBL + 'l').delete();
+    logSize = 0;
+    logged = new long[0];
+    loggedIndex = false;
+  }
+
+  /**
+   * Returns the serialized page index.
+   * @return page index
+   * @throws IOException I/O exception
+   */
+  private byte[] index() throws IOException {
+    final ArrayOutput ao = new ArrayOutput();
+    try(final DataOutput out = new DataOutput(ao)) {
       out.writeNum(blocks);
       out.writeNum(used);
 
@@ -125,12 +330,149 @@ public final class TableDiskAccess extends TableAccess {
 
       out.writeLongs(usedPages.toArray());
     }
-    dirty = false;
+    return ao.toArray();
+  }
+
+  /**
+   * Writes a log record for the specified block.
+   * @param bf buffer
+   * @param out output
+   * @return offset of the block data in the record
+   * @throws IOException I/O exception
+   */
+  private static long record(final Buffer bf, final DataOutput out) throws IOException {
+    out.writeBool(true);
+    out.write4((int) bf.pos);
+    final long off = out.size();
+    out.writeBytes(bf.data);
+    return off;
+  }
+
+  /**
+   * Appends data to the log. The log is created with the first block that is written after
+   * the last checkpoint. If writing fails, the log is cut back to its previous size.
+   * Must only be called if an exclusive lock is held.
+   * @param bytes bytes to append
+   * @throws IOException I/O exception
+   */
+  private void append(final byte[] bytes) throws IOException {
+    if(log == null) log = new RandomAccessFile(meta.dbfile(DATATBL + 'l').file(), "rw");
+    try {
+      // discard data of failed or interrupted write operations
+      if(log.length() != logSize) log.setLength(logSize);
+      log.seek(logSize);
+      log.write(bytes);
+    } catch(final IOException ex) {
+      // if the log cannot be restored, changes must not be appended to it anymore
+      try {
+        log.setLength(logSize);
+      } catch(final IOException e) {
+        Util.debug(e);
+        log.close();
+        throw new IOException(Text.DB_CORRUPT, ex);
+      }
+      throw ex;
+    }
+    logSize += bytes.length;
+    Buffers.WRITTEN.add(bytes.length);
+  }
+
+  /**
+   * Registers the log offset of a block and resets the dirty flag of the buffer.
+   * @param bf buffer
+   * @param off offset of the block data in the log
+   */
+  private void logged(final Buffer bf, final long off) {
+    logged((int) bf.pos, off);
+    bf.dirty = false;
+  }
+
+  /**
+   * Registers the log offset of a block.
+   * @param b block
+   * @param off offset of the block data in the log
+   */
+  private void logged(final int b, final long off) {
+    if(b >= logged.length) logged = Arrays.copyOf(logged, Math.max(b + 1, logged.length << 1));
+    logged[b] = off + 1;
+  }
+
+  /**
+   * Writes a file and syncs it with the storage device.
+   * @param io file
+   * @param bytes contents
+   * @throws IOException I/O exception
+   */
+  private static void sync(final IOFile io, final byte[] bytes) throws IOException {
+    try(final FileOutputStream fos = new FileOutputStream(io.file())) {
+      fos.write(bytes);
+      fos.getFD().sync();
+    }
+  }
+
+  /**
+   * Opens an existing log and registers the blocks of all complete commits. Data after the
+   * last complete commit belongs to an interrupted update and will be overwritten: if the
+   * update was interrupted before it was flushed, the update marker of the database will
+   * still exist.
+   * @return latest page index in the log, or {@code null}
+   * @throws IOException I/O exception
+   */
+  private byte[] load() throws IOException {
+    final IOFile lg = meta.dbfile(DATATBL + 'l');
+    if(!lg.exists()) return null;
+
+    log = new RandomAccessFile(lg.file(), "rw");
+    final long size = log.length();
+    // positions and log offsets of the blocks of the current commit
+    final ArrayList<long[]> blocks = new ArrayList<>();
+    byte[] index = null;
+    long off = 0;
+    while(true) {
+      // parse next commit; stop if it is incomplete
+      blocks.clear();
+      log.seek(off);
+      byte[] ind = null;
+      boolean complete = false;
+      while(log.getFilePointer() < size) {
+        final long p = log.getFilePointer();
+        if(log.readBoolean()) {
+          if(p + 5 + IO.BLOCKSIZE > size) break;
+          blocks.add(new long[] { log.readInt(), p + 5 });
+          log.seek(p + 5 + IO.BLOCKSIZE);
+        } else {
+          if(p + 2 > size) break;
+          if(log.readBoolean()) {
+            if(p + 6 > size) break;
+            final int l = log.readInt();
+            if(l < 0 || p + 6 + l > size) break;
+            ind = new byte[l];
+            log.readFully(ind);
+          }
+          final long t = log.getFilePointer();
+          if(t + 5 > size) break;
+          complete = ((long) log.read() << 32 | log.readInt() & 0xFFFFFFFFL) == t;
+          break;
+        }
+      }
+      if(!complete) break;
+
+      for(final long[] block : blocks) logged((int) block[0], block[1]);
+      if(ind != null) {
+        index = ind;
+        loggedIndex = true;
+      }
+      off = log.getFilePointer();
+    }
+    logSize = off;
+    return index;
   }
 
   @Override
   public synchronized void close() throws IOException {
     flush();
+    if(log != null) log.close();
+    bm.count();
     file.close();
   }
 
@@ -505,6 +847,9 @@ public final class TableDiskAccess extends TableAccess {
           "\n- #total locks: " + blocks +
           "\n- access: " + m + " (" + l + " > " + h + ']');
       readPage(m);
+    } else {
+      // entry is located in the current page
+      bm.hit();
     }
     return pre - fpre << IO.NODEPOWER;
   }
@@ -559,9 +904,15 @@ public final class TableDiskAccess extends TableAccess {
       bf.pos = b;
       if(b >= blocks) {
         blocks = b + 1;
+      } else if(b < logged.length && logged[b] != 0) {
+        // block has been modified since the last checkpoint
+        log.seek(logged[b] - 1);
+        log.readFully(bf.data);
+        Buffers.READ.add(IO.BLOCKSIZE);
       } else {
         file.seek(bf.pos * IO.BLOCKSIZE);
         file.readFully(bf.data);
+        Buffers.READ.add(IO.BLOCKSIZE);
       }
     } catch(final IOException ex) {
       Util.stack(ex);
@@ -580,14 +931,20 @@ public final class TableDiskAccess extends TableAccess {
   }
 
   /**
-   * Writes the specified block to disk and resets the dirty flag.
+   * Appends the specified block to the log. It will be written in place by the next
+   * checkpoint, and it will be discarded by a recovery if it has not been committed.
    * @param bf buffer to write
    * @throws IOException I/O exception
    */
   private void writeBlock(final Buffer bf) throws IOException {
-    file.seek(bf.pos * IO.BLOCKSIZE);
-    file.write(bf.data);
-    bf.dirty = false;
+    final ArrayOutput ao = new ArrayOutput();
+    final long off;
+    try(final DataOutput out = new DataOutput(ao)) {
+      off = logSize + record(bf, out);
+    }
+    append(ao.toArray());
+    logged(bf, off);
+    uncommitted = true;
   }
 
   /**
@@ -637,4 +994,12 @@ public final class TableDiskAccess extends TableAccess {
   private int occSpace(final int i) {
     return (i + 1 < used ? fpres[i + 1] : meta.size) - fpres[i];
   }
+
+  /** Commits that will be synced after the locks of a thread have been released. */
+  private static final class Deferred {
+    /** Commits of tables. */
+    private final HashMap<TableDiskAccess, Long> commits = new HashMap<>();
+    /** Nesting level. */
+    private int level;
+  }
 }
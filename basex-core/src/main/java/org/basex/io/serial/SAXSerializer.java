@@ -23,6 +23,11 @@ import org.xml.sax.helpers.*;
  * @author Michael Hedenus
  */
 public final class SAXSerializer extends Serializer implements XMLReader {
+  /** Namespaces feature. */
+  private static final String NAMESPACES = "http://xml.org/sax/features/namespaces";
+  /** Lexical handler property. */
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
   /** Item to be serialized. */
   private final Item item;
 
@@ -54,12 +59,13 @@ public final class SAXSerializer extends Serializer implements XMLReader {
 
   @Override
   public boolean getFeature(final String name) {
-    return false;
+    // namespace-aware events are always generated
+    return name.equals(NAMESPACES);
   }
 
   @Override
   public Object getProperty(final String name) {
-    return null;
+    return name.equals(LEXICAL_HANDLER) ? lexicalHandler : null;
   }
 
   @Override
@@ -124,13 +130,15 @@ public final class SAXSerializer extends Serializer implements XMLReader {
   @Override
   public void setFeature(final String name, final boolean value)
       throws SAXNotRecognizedException {
-    throw new SAXNotRecognizedException();
+    if(value != getFeature(name)) throw new SAXNotRecognizedException(name);
   }
 
   @Override
   public void setProperty(final String name, final Object value)
       throws SAXNotRecognizedException {
-    throw new SAXNotRecognizedException();
+    if(!name.equals(LEXICAL_HANDLER) || !(value instanceof LexicalHandler))
+      throw new SAXNotRecognizedException(name);
+    lexicalHandler = (LexicalHandler) value;
   }
 
   // Serializer =========================================================================
@@ -171,13 +179,22 @@ public final class SAXSerializer extends Serializer implements XMLReader {
       final int as = attributes.size();
       for(int a = 0; a < as; a++) {
         final byte[] name = attributes.name(a);
-        final String uri = string(namespaces.get(prefix(name)));
+        // attributes without prefix have no namespace
+        final byte[] prefix = prefix(name);
+        final String uri = prefix.length == 0 ? "" : string(namespaces.get(prefix));
         final String lname = string(local(name));
         final String rname = string(name);
         final String value = string(attributes.value(a));
-        attrs.addAttribute(uri, lname, rname, null, value);
+        attrs.addAttribute(uri, lname, rname, "CDATA", value);
       }
 
+      final Atts decls = namespaces.decls;
+      if(decls != null) {
+        final int ds = decls.size();
+        for(int d = 0; d < ds; d++) {
+          contentHandler.startPrefixMapping(string(decls.name(d)), string(decls.value(d)));
+        }
+      }
       final String uri = string(namespaces.get(prefix(tag)));
       final String lname = string(local(tag));
       final String rname = string(tag);
@@ -197,8 +214,13 @@ public final class SAXSerializer extends Serializer implements XMLReader {
   @Override
   protected void finishClose() throws IOException {
     try {
-      final String name = string(tag);
-      contentHandler.endElement("", name, name);
+      final String uri = string(namespaces.get(prefix(tag)));
+      contentHandler.endElement(uri, string(local(tag)), string(tag));
+      final Atts decls = namespaces.decls;
+      if(decls != null) {
+        final int ds = decls.size();
+        for(int d = 0; d < ds; d++) contentHandler.endPrefixMapping(string(decls.name(d)));
+      }
       namespaces = namespaces.getParent();
     } catch(final SAXException ex) {
       throw new IOException(ex);
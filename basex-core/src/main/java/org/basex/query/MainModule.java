@@ -73,7 +73,7 @@ public final class MainModule extends StaticScope {
   public ValueBuilder cache(final QueryContext ctx) throws QueryException {
     final int fp = scope.enter(ctx);
     try {
-      final Iter iter = expr.iter(ctx);
+      final Iter iter = ctx.iter(expr);
 
       final ValueBuilder cache;
       if(iter instanceof ValueBuilder) {
@@ -100,7 +100,7 @@ public final class MainModule extends StaticScope {
     if(declType != null) return cache(ctx);
 
     final int fp = scope.enter(ctx);
-    final Iter iter = expr.iter(ctx);
+    final Iter iter = ctx.iter(expr);
     return new Iter() {
       @Override
       public Item next() throws QueryException {
@@ -21,6 +21,7 @@ import org.basex.io.serial.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.Expr.Flag;
 import org.basex.query.func.*;
+import org.basex.query.gflwor.*;
 import org.basex.query.iter.*;
 import org.basex.query.up.*;
 import org.basex.query.util.*;
@@ -66,6 +67,8 @@ public final class QueryContext extends Proc {
   public QueryResources resources;
   /** HTTP context. */
   public Object http;
+  /** Profiler ({@code null} if the query is not profiled). */
+  public Profiler profiler;
 
   /** Cached stop word files. */
   public HashMap<String, IO> stop;
@@ -151,6 +154,7 @@ public final class QueryContext extends Proc {
     this(parent.context, parent);
     listen = parent.listen;
     resources = parent.resources;
+    profiler = parent.profiler;
   }
 
   /**
@@ -344,6 +348,8 @@ public final class QueryContext extends Proc {
       if(updates != null) {
         // if parent context exists, updates will be performed by main context
         if(parentCtx == null) {
+          // block readers of the updated databases from now on
+          context.upgrade();
           final ValueBuilder output = resources.output;
           final StringList dbs = updates.databases();
           final HashSet<Data> datas = updates.prepare();
@@ -396,7 +402,24 @@ public final class QueryContext extends Proc {
    */
   public Iter iter(final Expr e) throws QueryException {
     checkStop();
-    return e.iter(this);
+    if(profiler == null) return e.iter(this);
+    final long start = System.nanoTime();
+    return profiler.iter(e, e.iter(this), start);
+  }
+
+  /**
+   * Evaluates the specified FLWOR expression and returns an iterator, which may stop after the
+   * specified number of results.
+   * @param flwor expression to be evaluated
+   * @param limit maximum number of results to be returned
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  public Iter iter(final GFLWOR flwor, final long limit) throws QueryException {
+    checkStop();
+    if(profiler == null) return flwor.iter(this, limit);
+    final long start = System.nanoTime();
+    return profiler.iter(flwor, flwor.iter(this, limit), start);
   }
 
   /**
@@ -407,7 +430,9 @@ public final class QueryContext extends Proc {
    */
   public Value value(final Expr expr) throws QueryException {
     checkStop();
-    return expr.value(this);
+    if(profiler == null) return expr.value(this);
+    final long start = System.nanoTime();
+    return profiler.value(expr, expr.value(this), start);
   }
 
   /**
@@ -418,10 +443,17 @@ public final class QueryContext extends Proc {
     return value != null ? value.data() : null;
   }
 
+  @Override
+  public void locked(final StringList read, final StringList write, final long wait) {
+    if(profiler != null) profiler.locked(read, write, wait);
+  }
+
   @Override
   public void databases(final LockResult lr) {
     lr.read.add(readLocks);
     lr.write.add(writeLocks);
+    // readers will only be blocked while updates are applied
+    lr.defer = updating;
     if(root == null || !root.databases(lr, this) ||
        ctxItem != null && !ctxItem.databases(lr, this)) {
 
@@ -544,6 +576,11 @@ public final class QueryContext extends Proc {
       context.options.put(e.getKey(), e.getValue());
   }
 
+  @Override
+  protected Proc parent() {
+    return parentCtx;
+  }
+
   @Override
   public String tit() {
     return SAVE;
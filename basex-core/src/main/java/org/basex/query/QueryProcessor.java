@@ -9,12 +9,18 @@ import java.util.regex.*;
 import org.basex.core.*;
 import org.basex.core.Context;
 import org.basex.data.*;
+import org.basex.io.out.*;
 import org.basex.io.parse.json.*;
 import org.basex.io.serial.*;
+import org.basex.io.serial.SerializerOptions.YesNo;
 import org.basex.query.expr.*;
 import org.basex.query.iter.*;
+import org.basex.query.util.*;
 import org.basex.query.value.*;
 import org.basex.query.value.node.*;
+import org.basex.server.*;
+import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class is an entry point for evaluating XQuery implementations.
@@ -27,6 +33,10 @@ public final class QueryProcessor extends Proc {
   private static final Pattern LIBMOD_PATTERN = Pattern.compile(
   "^(xquery( version ['\"].*?['\"])?( encoding ['\"].*?['\"])? ?; ?)?module namespace.*");
 
+  /** Execution time of queries. */
+  private static final Histogram QUERIES = Metrics.histogram("basex_query_seconds",
+      "Execution time of queries, including parsing, compilation and serialization.");
+
   /** Static context. */
   public final StaticContext sc;
   /** Expression context. */
@@ -37,6 +47,8 @@ public final class QueryProcessor extends Proc {
   private boolean parsed;
   /** Compilation flag. */
   private boolean compiled;
+  /** Creation time ({@code 0} after the processor has been closed). */
+  private long start = System.nanoTime();
 
   /**
    * Default constructor.
@@ -47,6 +59,7 @@ public final class QueryProcessor extends Proc {
     query = qu;
     ctx = proc(new QueryContext(cx));
     sc = new StaticContext(cx);
+    if(cx.globalopts.get(GlobalOptions.SLOWQUERY) > 0) ctx.profiler = new Profiler();
   }
 
   /**
@@ -241,6 +254,45 @@ public final class QueryProcessor extends Proc {
    */
   public void close() {
     ctx.close();
+    if(start != 0) {
+      final long time = QUERIES.time(start);
+      start = 0;
+      if(ctx.profiler != null) log(time);
+    }
+  }
+
+  /**
+   * Writes the plan and profile of the query to the log if it was slower than the
+   * specified threshold.
+   * @param time execution time (nanoseconds)
+   */
+  private void log(final long time) {
+    final Context context = ctx.context;
+    if(time < context.globalopts.get(GlobalOptions.SLOWQUERY) * 1000000L) return;
+
+    final String address = context.listener != null ? context.listener.address() : LOCAL;
+    final String user = context.user != null ? context.user.name : "";
+    context.log.write(address, user, Log.SLOW, ctx.profiler + "; Plan: " + logPlan(),
+        Performance.getTime(time, 1));
+  }
+
+  /**
+   * Returns the query plan as single-line string. Long plans will be chopped by the logger.
+   * @return plan
+   */
+  private String logPlan() {
+    if(ctx.root == null) return "";
+    final SerializerOptions sopts = new SerializerOptions();
+    sopts.set(SerializerOptions.INDENT, YesNo.NO);
+    final ArrayOutput ao = new ArrayOutput();
+    try {
+      final Serializer ser = Serializer.get(ao, sopts);
+      ser.serialize(plan());
+      ser.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+    return ao.toString();
   }
 
   @Override
@@ -21,7 +21,8 @@ import org.basex.util.list.*;
 
 /**
  * This class provides access to all kinds of resources (databases, documents, database connections,
- * sessions) used by an XQuery expression.
+ * sessions) used by an XQuery expression. Resources may be accessed by parallel evaluations
+ * (see {@code xquery:fork-join}); this is why its public methods are synchronized.
  *
  * @author BaseX Team 2005-14, BSD License
  * @author Christian Gruen
@@ -41,6 +42,8 @@ public final class QueryResources {
   private ModuleLoader modules;
   /** External resources. */
   private HashMap<Class<? extends DataResources>, DataResources> external = new HashMap<>();
+  /** Opened inputs that are lazily consumed. */
+  private final ArrayList<Closeable> inputs = new ArrayList<>();
 
   /** Pending output. */
   public final ValueBuilder output = new ValueBuilder();;
@@ -87,7 +90,7 @@ public final class QueryResources {
    * Adds an external resource.
    * @param ext external resource
    */
-  public void add(final DataResources ext) {
+  public synchronized void add(final DataResources ext) {
     external.put(ext.getClass(), ext);
   }
 
@@ -98,7 +101,7 @@ public final class QueryResources {
    * @return resource
    */
   @SuppressWarnings("unchecked")
-  public <R extends DataResources> R get(final Class<? extends R> resource) {
+  public synchronized <R extends DataResources> R get(final Class<? extends R> resource) {
     return (R) external.get(resource);
   }
 
@@ -113,6 +116,9 @@ public final class QueryResources {
     if(modules != null) modules.close();
     // close external resources
     for(final DataResources c : external.values()) c.close();
+    // close inputs that have not been completely consumed
+    for(final Closeable input : inputs) close(input);
+    inputs.clear();
   }
 
   /**
@@ -122,7 +128,7 @@ public final class QueryResources {
    * @return database instance
    * @throws QueryException query exception
    */
-  public Data database(final String name, final InputInfo info) throws QueryException {
+  public synchronized Data database(final String name, final InputInfo info) throws QueryException {
     // check if a database with the same name has already been opened
     for(int d = 0; d < datas; ++d) {
       if(data[d].inMemory()) continue;
@@ -148,7 +154,7 @@ public final class QueryResources {
    * @return document
    * @throws QueryException query exception
    */
-  public DBNode doc(final QueryInput qi, final IO baseIO, final InputInfo info)
+  public synchronized DBNode doc(final QueryInput qi, final IO baseIO, final InputInfo info)
       throws QueryException {
 
     // favor default database
@@ -183,7 +189,7 @@ public final class QueryResources {
    * @return collection
    * @throws QueryException query exception
    */
-  public Value collection(final InputInfo info) throws QueryException {
+  public synchronized Value collection(final InputInfo info) throws QueryException {
     if(colls == 0) throw NODEFCOLL.get(info);
     return coll[0];
   }
@@ -197,7 +203,7 @@ public final class QueryResources {
    * @return collection
    * @throws QueryException query exception
    */
-  public Value collection(final QueryInput qi, final IO baseIO, final InputInfo info)
+  public synchronized Value collection(final QueryInput qi, final IO baseIO, final InputInfo info)
       throws QueryException {
 
     // favor default database
@@ -287,7 +293,7 @@ public final class QueryResources {
    * Returns a reference to the updates.
    * @return updates
    */
-  public Updates updates() {
+  public synchronized Updates updates() {
     if(updates == null) updates = new Updates();
     return updates;
   }
@@ -296,7 +302,7 @@ public final class QueryResources {
    * Returns the module loader.
    * @return module loader
    */
-  public ModuleLoader modules() {
+  public synchronized ModuleLoader modules() {
     if(modules == null) modules = new ModuleLoader(qc.context);
     return modules;
   }
@@ -406,7 +412,7 @@ public final class QueryResources {
    * Removes and closes a database if it has not been added by the global context.
    * @param name name of database to be removed
    */
-  public void removeData(final String name) {
+  public synchronized void removeData(final String name) {
     for(int d = qc.nodes != null ? 1 : 0; d < datas; d++) {
       if(data[d].meta.name.equals(name)) {
         Close.close(data[d], qc.context);
@@ -417,6 +423,35 @@ public final class QueryResources {
     }
   }
 
+  /**
+   * Adds an input that is lazily consumed. It will be closed when the query is closed.
+   * @param input input to be added
+   */
+  public synchronized void addInput(final Closeable input) {
+    inputs.add(input);
+  }
+
+  /**
+   * Removes and closes an input.
+   * @param input input to be removed
+   */
+  public synchronized void removeInput(final Closeable input) {
+    inputs.remove(input);
+    close(input);
+  }
+
+  /**
+   * Closes an input.
+   * @param input input
+   */
+  private static void close(final Closeable input) {
+    try {
+      input.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+
   /**
    * Adds a collection to the global collection list.
    * @param nodes collection nodes
@@ -0,0 +1,80 @@
+package org.basex.query.expr;
+
+import org.basex.data.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+
+/**
+ * Caches the results of comparisons between database texts and a single item.
+ * As identical text references imply identical values (see {@link Data#textRef}),
+ * values with few distinct texts will only be compared once per distinct text.
+ * Caching is given up if too many distinct texts occur. As texts and attribute values are
+ * stored separately, the node kind is part of the cached reference. Caching is only
+ * enabled for databases in which identical texts share their references.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+final class CmpCache {
+  /** Maximum number of cached results. */
+  private static final int MAX = 64;
+  /** Flag for references to attribute values (disk offsets have at most 40 bits). */
+  private static final long ATTR = 1L << 62;
+  /** Text references. */
+  private final long[] refs = new long[MAX];
+  /** Results. */
+  private final boolean[] results = new boolean[MAX];
+  /** Database of the cached nodes (assigned with the first result). */
+  private Data data;
+  /** Number of cached results ({@code MAX + 1}: caching was given up). */
+  private volatile int size;
+
+  /**
+   * Returns the text reference of the specified item, or {@code -1} if the item is no
+   * database text, or if no results will be cached for it.
+   * @param it item
+   * @return reference or {@code -1}
+   */
+  long ref(final Item it) {
+    if(size > MAX || !(it instanceof DBNode)) return -1;
+    final DBNode node = (DBNode) it;
+    final Data d = node.data;
+    if(data != null && d != data || !d.meta.sharetexts && !d.inMemory()) return -1;
+    final int k = d.kind(node.pre);
+    return k == Data.ATTR ? d.textRef(node.pre) | ATTR :
+      k == Data.TEXT || k == Data.COMM || k == Data.PI ? d.textRef(node.pre) : -1;
+  }
+
+  /**
+   * Returns a cached result.
+   * @param ref text reference
+   * @return result ({@code 1}: true, {@code 0}: false, {@code -1}: unknown)
+   */
+  int get(final long ref) {
+    final int s = Math.min(size, MAX);
+    for(int r = 0; r < s; r++) if(refs[r] == ref) return results[r] ? 1 : 0;
+    return -1;
+  }
+
+  /**
+   * Caches a result.
+   * @param it database node
+   * @param ref text reference
+   * @param result result
+   */
+  synchronized void add(final Item it, final long ref, final boolean result) {
+    final Data d = ((DBNode) it).data;
+    if(data == null) data = d;
+    else if(d != data) return;
+
+    final int s = size;
+    if(s == MAX) {
+      // too many distinct texts: give up caching
+      size = MAX + 1;
+    } else if(s < MAX) {
+      refs[s] = ref;
+      results[s] = result;
+      size = s + 1;
+    }
+  }
+}
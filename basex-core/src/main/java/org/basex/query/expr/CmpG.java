@@ -116,6 +116,8 @@ public final class CmpG extends Cmp {
   private ValueAccess[] va = {};
   /** Flag for atomic evaluation. */
   private boolean atomic;
+  /** Cached results for database texts (only assigned if the second operand is an item). */
+  private CmpCache cache;
 
   /**
    * Constructor.
@@ -195,6 +197,7 @@ public final class CmpG extends Cmp {
     // check if both arguments will always yield one result
     atomic = e1.type().zeroOrOne() && e2.type().zeroOrOne();
     if(atomic) ctx.compInfo(OPTATOMIC, this);
+    cache = e2 instanceof Item ? new CmpCache() : null;
     return this;
   }
 
@@ -284,7 +287,18 @@ public final class CmpG extends Cmp {
     if(!(a instanceof FItem || b instanceof FItem) &&
         (ta == tb || ta.isUntyped() || tb.isUntyped() ||
         a instanceof ANum && b instanceof ANum ||
-        a instanceof AStr && b instanceof AStr)) return op.op.eval(a, b, coll, info);
+        a instanceof AStr && b instanceof AStr)) {
+
+      // compare database texts with the second operand only once per distinct text
+      final CmpCache cc = cache;
+      final long ref = cc != null ? cc.ref(a) : -1;
+      if(ref == -1) return op.op.eval(a, b, coll, info);
+      final int r = cc.get(ref);
+      if(r != -1) return r == 1;
+      final boolean res = op.op.eval(a, b, coll, info);
+      cc.add(a, ref, res);
+      return res;
+    }
     throw Err.INVTYPECMP.get(info, ta, tb);
   }
 
@@ -129,9 +129,10 @@ public final class List extends Arr {
 
   @Override
   public Value value(final QueryContext ctx) throws QueryException {
-    final ValueBuilder vb = new ValueBuilder();
-    for(final Expr e : expr) vb.add(ctx.value(e));
-    return vb.value();
+    // growing sequences will be extended in place, if possible
+    Value v = ctx.value(expr[0]);
+    for(int e = 1; e < expr.length; e++) v = BufferSeq.concat(v, ctx.value(expr[e]));
+    return v;
   }
 
   @Override
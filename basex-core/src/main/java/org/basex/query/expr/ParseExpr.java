@@ -67,7 +67,7 @@ public abstract class ParseExpr extends Expr {
       final Value v = item(ctx, info);
       return v == null ? Empty.SEQ : v;
     }
-    return ctx.iter(this).value();
+    return NativeSeqBuilder.value(ctx.iter(this), type().type);
   }
 
   /**
@@ -39,6 +39,14 @@ public final class FTContent extends FTFilter {
       final int p = lex.count() - 1;
       for(final FTStringMatch sm : mtc) if(sm.end == p) return true;
     } else {
+      // skip tokenization if a positive match exists (the text is thus not empty),
+      // but the first token is not covered by a match
+      boolean f = false, pos = false;
+      for(final FTStringMatch sm : mtc) {
+        f |= !sm.gaps && sm.start == 0;
+        pos |= !sm.exclude;
+      }
+      if(pos && !f) return false;
       final int s = lex.count();
       final boolean[] bl = new boolean[s];
       for(final FTStringMatch sm : mtc) {
@@ -48,12 +48,14 @@ public abstract class FTFilter extends FTExpr {
   @Override
   public final FTIter iter(final QueryContext ctx) throws QueryException {
     final FTIter ir = expr[0].iter(ctx);
+    // texts are only tokenized if the filter requires more than word positions
+    final FTLexer lex = content() ? new FTLexer() : null;
     return new FTIter() {
       @Override
       public FTNode next() throws QueryException {
         FTNode it;
         while((it = ir.next()) != null) {
-          if(filter(ctx, it, content() ? new FTLexer().init(it.string(info)) : null)) break;
+          if(filter(ctx, it, lex != null ? lex.init(it.string(info)) : null)) break;
         }
         return it;
       }
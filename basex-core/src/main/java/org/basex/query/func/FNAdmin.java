@@ -19,6 +19,7 @@ import org.basex.query.value.node.*;
 import org.basex.server.*;
 import org.basex.server.Log.LogEntry;
 import org.basex.util.*;
+import org.basex.util.metrics.*;
 
 /**
  * Admin functions.
@@ -51,6 +52,18 @@ public final class FNAdmin extends StandardFunc {
   private static final String TYPE = "type";
   /** QName: ms. */
   private static final String MS = "ms";
+  /** QName: metric. */
+  private static final String METRIC = "metric";
+  /** QName: name. */
+  private static final String NAME = "name";
+  /** QName: value. */
+  private static final String VALUE = "value";
+  /** QName: count. */
+  private static final String COUNT = "count";
+  /** QName: max. */
+  private static final String MAX = "max";
+  /** Quantiles of histograms. */
+  private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
 
   /**
    * Constructor.
@@ -70,6 +83,7 @@ public final class FNAdmin extends StandardFunc {
       case _ADMIN_LOGS:     return logs(ctx);
       case _ADMIN_USERS:    return users(ctx);
       case _ADMIN_SESSIONS: return sessions(ctx);
+      case _ADMIN_METRICS:  return metrics();
       default:              return super.iter(ctx);
     }
   }
@@ -147,7 +161,8 @@ public final class FNAdmin extends StandardFunc {
       for(String line; (line = nli.readLine()) != null;) {
         final LogEntry log = new LogEntry();
         final String[] cols = line.split("\t");
-        if(cols.length > 2 && (cols[1].matches(".*:\\d+") || cols[1].equals(Log.SERVER))) {
+        if(cols.length > 2 && (cols[1].matches(".*:\\d+") || cols[1].equals(Log.SERVER) ||
+            cols[1].equals(Text.LOCAL))) {
           log.time = cols[0];
           log.address = cols[1];
           log.user = cols[2];
@@ -202,6 +217,41 @@ public final class FNAdmin extends StandardFunc {
     return vb;
   }
 
+  /**
+   * Lists all metrics. Durations are returned in milliseconds.
+   * @return metrics
+   */
+  private static Iter metrics() {
+    final ValueBuilder vb = new ValueBuilder();
+    for(final Metric m : Metrics.all()) {
+      final FElem elem = new FElem(METRIC).add(NAME, m.name).add(TYPE, m.type());
+      if(m.label != null) elem.add(m.label, m.value);
+      if(m instanceof Counter) {
+        elem.add(VALUE, Token.token(((Counter) m).get()));
+      } else if(m instanceof Gauge) {
+        elem.add(VALUE, Token.token(((Gauge) m).get()));
+      } else {
+        final Histogram h = (Histogram) m;
+        elem.add(COUNT, Token.token(h.count())).add(MS, ms(h.sum()));
+        for(final double q : QUANTILES) {
+          elem.add("p" + Math.round(q * 100), ms(h.quantile(q)));
+        }
+        elem.add(MAX, ms(h.max()));
+      }
+      vb.add(elem);
+    }
+    return vb;
+  }
+
+  /**
+   * Converts nanoseconds to a milliseconds string.
+   * @param ns nanoseconds
+   * @return milliseconds
+   */
+  private static String ms(final long ns) {
+    return BigDecimal.valueOf(ns, 6).stripTrailingZeros().toPlainString();
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
     return !(oneOf(sig, _ADMIN_USERS, _ADMIN_SESSIONS) && !visitor.lock(DBLocking.ADMIN)) &&
@@ -3,13 +3,12 @@ package org.basex.query.func;
 import static org.basex.query.util.Err.*;
 import static org.basex.query.value.type.AtomType.*;
 
-import java.math.*;
-
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.expr.CmpV.OpV;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
 import org.basex.query.value.type.*;
@@ -48,25 +47,22 @@ public final class FNAggr extends StandardFunc {
         }
         return Int.get(c);
       case MIN:
-        return minmax(iter, OpV.GT, ctx);
       case MAX:
-        return minmax(iter, OpV.LT, ctx);
-      case SUM:
-        // partial sum calculation (Little Gauss)
-        if(expr[0] instanceof RangeSeq) {
-          final RangeSeq rs = (RangeSeq) expr[0];
-          final long s = rs.itemAt(0).itr(ii);
-          if(s == 0 || s == 1) {
-            final long n = rs.size();
-            return Int.get(n < 3037000500L ? n * (n + 1) / 2 : BigInteger.valueOf(n).multiply(
-                BigInteger.valueOf(n + 1)).divide(BigInteger.valueOf(2)).longValue());
-          }
+        final boolean min = sig == Function.MIN;
+        if(expr.length == 1) {
+          final Item it = nativeMinMax(iter, min);
+          if(it != null) return it;
         }
-
-        Item it = iter.next();
+        return minmax(iter, min ? OpV.GT : OpV.LT, ctx);
+      case SUM:
+        Item it = nativeSum(iter);
+        if(it != null) return it;
+        it = iter.next();
         return it != null ? sum(iter, it, false) :
           expr.length == 2 ? expr[1].item(ctx, info) : Int.get(0);
       case AVG:
+        it = nativeSum(iter);
+        if(it != null) return Calc.DIV.ev(info, it, Int.get(iter.size()));
         it = iter.next();
         return it == null ? null : sum(iter, it, true);
       default:
@@ -96,6 +92,38 @@ public final class FNAggr extends StandardFunc {
     return this;
   }
 
+  /**
+   * Sums up the values of a sequence whose numbers are stored in primitive arrays.
+   * @param iter iterator
+   * @return sum, or {@code null} if the values are not supported or exceed the range
+   * of integers
+   */
+  private static Item nativeSum(final Iter iter) {
+    final Value v = iter instanceof ValueIter ? ((ValueIter) iter).value() : null;
+    if(v instanceof RangeSeq) return ((RangeSeq) v).sum();
+    if(v instanceof IntSeq) return ((IntSeq) v).sum();
+    if(v instanceof DblSeq) return ((DblSeq) v).sum();
+    return null;
+  }
+
+  /**
+   * Returns the minimum or maximum of a sequence whose numbers are stored in primitive
+   * arrays.
+   * @param iter iterator
+   * @param min minimum or maximum
+   * @return resulting item, or {@code null} if the values are not supported
+   */
+  private static Item nativeMinMax(final Iter iter, final boolean min) {
+    final Value v = iter instanceof ValueIter ? ((ValueIter) iter).value() : null;
+    if(v instanceof RangeSeq) {
+      final RangeSeq rs = (RangeSeq) v;
+      return Int.get(min ? rs.min() : rs.max());
+    }
+    if(v instanceof IntSeq) return ((IntSeq) v).minmax(min);
+    if(v instanceof DblSeq) return ((DblSeq) v).minmax(min);
+    return null;
+  }
+
   /**
    * Sums up the specified item(s).
    * @param iter iterator
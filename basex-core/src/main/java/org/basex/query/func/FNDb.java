@@ -60,6 +60,8 @@ public final class FNDb extends StandardFunc {
   private static final String RAW = "raw";
   /** Size element name. */
   private static final String SIZE = "size";
+  /** Error attribute name. */
+  private static final String ERROR = "error";
   /** Content type element name. */
   private static final String CTYPE = "content-type";
   /** Modified date element name. */
@@ -275,18 +277,32 @@ public final class FNDb extends StandardFunc {
     checkCreate(ctx);
     final String name = expr.length == 0 ? null : string(checkStr(expr[0], ctx));
 
-    final StringList backups = name == null ? ctx.context.databases.backups() :
-      ctx.context.databases.backups(name);
+    final Databases dbs = ctx.context.databases;
+    final StringList backups = name == null ? dbs.backups() : dbs.backups(name);
+    // backups that could not be written in the background are returned with their error
+    final StringList failed = new StringList();
+    final StringList errors = new StringList();
+    for(final Map.Entry<String, String> entry : dbs.failed().entrySet()) {
+      final String backup = entry.getKey();
+      if(name == null || backup.equals(name) || Databases.name(backup).equals(name)) {
+        failed.add(backup);
+        errors.add(entry.getValue());
+      }
+    }
     final IOFile dbpath = ctx.context.globalopts.dbpath();
     return new Iter() {
       int up = -1;
 
       @Override
       public Item next() {
-        if(++up >= backups.size()) return null;
-        final String backup = backups.get(up);
-        final long length = new IOFile(dbpath, backup + IO.ZIPSUFFIX).length();
-        return new FElem(BACKUP).add(backup).add(SIZE, token(length));
+        if(++up < backups.size()) {
+          final String backup = backups.get(up);
+          final long length = new IOFile(dbpath, backup + IO.ZIPSUFFIX).length();
+          return new FElem(BACKUP).add(backup).add(SIZE, token(length));
+        }
+        final int f = up - backups.size();
+        return f < failed.size() ? new FElem(BACKUP).add(failed.get(f)).add(ERROR,
+          errors.get(f)) : null;
       }
     };
   }
@@ -739,6 +755,8 @@ public final class FNDb extends StandardFunc {
 
     final StringList backups = ctx.context.databases.backups(name);
     if(backups.isEmpty()) throw BXDB_WHICHBACK.get(info, name);
+    final String dep = DropBackup.dependent(backups, ctx.context);
+    if(dep != null) throw BXDB_DEPBACK.get(info, dep);
 
     final Updates updates = ctx.resources.updates();
     for(final String backup : backups) updates.add(new BackupDrop(backup, info, ctx), ctx);
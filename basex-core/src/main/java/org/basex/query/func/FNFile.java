@@ -11,6 +11,7 @@ import java.util.*;
 import java.util.regex.*;
 
 import org.basex.io.*;
+import org.basex.io.in.*;
 import org.basex.io.out.*;
 import org.basex.io.random.*;
 import org.basex.io.serial.*;
@@ -430,7 +431,25 @@ public final class FNFile extends StandardFunc {
    * @throws QueryException query exception
    */
   private Iter readTextLines(final QueryContext ctx) throws QueryException {
-    return FNGen.textIter(readText(ctx).string(info));
+    final StrStream ss = readText(ctx);
+    // lines are lazily read from the file; the input is closed once the last line is returned,
+    // or when the query is closed
+    final NewlineInput nli = ss.lines(info);
+    ctx.resources.addInput(nli);
+    final TokenBuilder tb = new TokenBuilder();
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        try {
+          if(nli.readLine(tb)) return Str.get(tb.finish());
+          ctx.resources.removeInput(nli);
+          return null;
+        } catch(final IOException ex) {
+          ctx.resources.removeInput(nli);
+          throw FILE_IO_ERROR.get(info, ex);
+        }
+      }
+    };
   }
 
   /**
@@ -8,6 +8,7 @@ import org.basex.index.stats.*;
 import org.basex.query.*;
 import org.basex.query.expr.CmpV.OpV;
 import org.basex.query.expr.*;
+import org.basex.query.gflwor.*;
 import org.basex.query.iter.*;
 import org.basex.query.path.*;
 import org.basex.query.util.*;
@@ -65,10 +66,12 @@ public final class FNSeq extends StandardFunc {
   @Override
   public Value value(final QueryContext ctx) throws QueryException {
     switch(sig) {
-      case SUBSEQUENCE: return subseqValue(ctx);
-      case TAIL:        final Value seq = ctx.value(expr[0]);
-                        return SubSeq.get(seq, 1, seq.size() - 1);
-      default:          return super.value(ctx);
+      case SUBSEQUENCE:   return subseqValue(ctx);
+      case TAIL:          final Value seq = ctx.value(expr[0]);
+                          return SubSeq.get(seq, 1, seq.size() - 1);
+      case INSERT_BEFORE: return insertBeforeValue(ctx);
+      case REMOVE:        return removeValue(ctx);
+      default:            return super.value(ctx);
     }
   }
 
@@ -317,6 +320,41 @@ public final class FNSeq extends StandardFunc {
     };
   }
 
+  /**
+   * Inserts items before the specified position.
+   * Items that are inserted at the start or end of a sequence will be added in place,
+   * if possible (see {@link BufferSeq}).
+   * @param ctx query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value insertBeforeValue(final QueryContext ctx) throws QueryException {
+    final Value val = ctx.value(expr[0]);
+    final long pos = Math.max(1, checkItr(expr[1], ctx)), size = val.size();
+    final Value ins = ctx.value(expr[2]);
+    if(size + ins.size() > Integer.MAX_VALUE) return super.value(ctx);
+    if(pos == 1) return BufferSeq.concat(ins, val);
+    if(pos > size) return BufferSeq.concat(val, ins);
+    return BufferSeq.concat(BufferSeq.concat(SubSeq.get(val, 0, pos - 1), ins),
+        SubSeq.get(val, pos - 1, size - pos + 1));
+  }
+
+  /**
+   * Removes an item at a specified position in a sequence.
+   * Subsequences of the original sequence will be returned, if possible.
+   * @param ctx query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value removeValue(final QueryContext ctx) throws QueryException {
+    final Value val = ctx.value(expr[0]);
+    final long pos = checkItr(expr[1], ctx), size = val.size();
+    if(pos < 1 || pos > size) return val;
+    if(pos == 1 || pos == size) return SubSeq.get(val, pos == 1 ? 1 : 0, size - 1);
+    if(size > Integer.MAX_VALUE) return super.value(ctx);
+    return BufferSeq.concat(SubSeq.get(val, 0, pos - 1), SubSeq.get(val, pos, size - pos));
+  }
+
   /**
    * Removes an item at a specified position in a sequence.
    * @param ctx query context
@@ -359,7 +397,7 @@ public final class FNSeq extends StandardFunc {
     final boolean li = l == Long.MAX_VALUE;
     if(si) return li ? expr[0].iter(ctx) : Empty.ITER;
 
-    final Iter iter = ctx.iter(expr[0]);
+    final Iter iter = subseq(ctx, s, l);
 
     // optimization: return subsequence
     if(iter instanceof ValueIter) {
@@ -411,6 +449,24 @@ public final class FNSeq extends StandardFunc {
     };
   }
 
+  /**
+   * Returns an iterator for the input of a subsequence. If the input is a FLWOR expression,
+   * the number of required results will be passed on (to speed up top-k queries).
+   * @param ctx query context
+   * @param start start position
+   * @param length length ({@link Long#MAX_VALUE}: unlimited)
+   * @return iterator
+   * @throws QueryException query exception
+   */
+  private Iter subseq(final QueryContext ctx, final long start, final long length)
+      throws QueryException {
+    if(length != Long.MAX_VALUE && expr[0] instanceof GFLWOR &&
+        start < Long.MAX_VALUE - length) {
+      return ctx.iter((GFLWOR) expr[0], Math.max(0, start + length - 1));
+    }
+    return ctx.iter(expr[0]);
+  }
+
   /**
    * Evaluates the {@code subsequence} function strictly.
    * @param ctx query context
@@ -433,7 +489,7 @@ public final class FNSeq extends StandardFunc {
     final boolean linf = length == Long.MAX_VALUE;
     if(sinf) return linf ? expr[0].value(ctx) : Empty.SEQ;
 
-    final Iter iter = ctx.iter(expr[0]);
+    final Iter iter = subseq(ctx, start, length);
 
     // optimization: return subsequence
     if(iter instanceof ValueIter) {
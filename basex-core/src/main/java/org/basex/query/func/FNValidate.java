@@ -8,6 +8,7 @@ import java.net.*;
 
 import javax.xml.*;
 import javax.xml.parsers.*;
+import javax.xml.transform.sax.*;
 import javax.xml.transform.stream.*;
 import javax.xml.validation.*;
 
@@ -24,6 +25,7 @@ import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.w3c.dom.ls.*;
 import org.xml.sax.*;
 import org.xml.sax.helpers.*;
 
@@ -35,6 +37,9 @@ import org.xml.sax.helpers.*;
  * @author Marco Lettere (greedy/verbose validation)
  */
 public final class FNValidate extends StandardFunc {
+  /** Compiled schemas. */
+  private static final SourceCache<Schema> SCHEMAS = new SourceCache<>();
+
   /**
    * Constructor.
    * @param sctx static context
@@ -120,24 +125,46 @@ public final class FNValidate extends StandardFunc {
     return process(new Validate() {
       @Override
       void process(final ErrorHandler handler) throws IOException, SAXException, QueryException {
-        final IO in = read(checkItem(expr[0], ctx), ctx, null);
-        final SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        final Item it = checkItem(expr[0], ctx);
         final Schema schema;
         if(expr.length < 2) {
           // assume that schema declaration is included in document
-          schema = sf.newSchema();
+          schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema();
         } else {
-          final Item it = checkItem(expr[1], ctx);
           // schema specified as string
-          IO scio = read(it, ctx, null);
-          tmp = createTmp(scio);
-          if(tmp != null) scio = tmp;
-          schema = sf.newSchema(new URL(scio.url()));
+          IO scio = read(checkItem(expr[1], ctx), ctx, null);
+          final String key = SourceCache.key(scio);
+          Schema sc = SCHEMAS.get(key);
+          if(sc == null) {
+            tmp = createTmp(scio);
+            if(tmp != null) scio = tmp;
+            final SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            // record included and imported schemas; resolution is left to the factory
+            final SourceCache.Includes includes = new SourceCache.Includes();
+            sf.setResourceResolver(new LSResourceResolver() {
+              @Override
+              public LSInput resolveResource(final String type, final String uri,
+                  final String id, final String system, final String base) {
+                includes.add(system, base);
+                return null;
+              }
+            });
+            sc = sf.newSchema(new URL(scio.url()));
+            SCHEMAS.put(key, sc, includes);
+          }
+          schema = sc;
         }
 
         final Validator v = schema.newValidator();
         v.setErrorHandler(handler);
-        v.validate(new StreamSource(in.inputStream()));
+        if(it.type.isNode()) {
+          // pass on nodes as SAX events
+          final SAXSource src = new SAXSource(new SAXSerializer(it), new InputSource());
+          src.setSystemId(string(((ANode) it).baseURI()));
+          v.validate(src);
+        } else {
+          v.validate(new StreamSource(read(it, ctx, null).inputStream()));
+        }
       }
     });
   }
@@ -315,8 +342,12 @@ public final class FNValidate extends StandardFunc {
         final TokenBuilder report = new TokenBuilder();
         final String id = ex.getSystemId();
         if(id != null) report.add(IO.get(id).name()).add(", ");
-        report.addExt(ex.getLineNumber()).add(Text.COL).addExt(ex.getColumnNumber());
-        report.add(": ").add(msg);
+        // no line numbers are available if nodes are passed on as SAX events
+        if(ex.getLineNumber() != -1) {
+          report.addExt(ex.getLineNumber()).add(Text.COL).addExt(ex.getColumnNumber());
+          report.add(": ");
+        }
+        report.add(msg);
         msg = report.toString();
       }
       exceptions.add(type + Text.COL + msg);
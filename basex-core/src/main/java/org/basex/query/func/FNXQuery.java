@@ -7,6 +7,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.basex.core.*;
 import org.basex.io.*;
@@ -16,6 +17,8 @@ import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.options.*;
@@ -31,6 +34,8 @@ public final class FNXQuery extends StandardFunc {
   private static final String PREFIX = "xquery";
   /** QName. */
   private static final QNm Q_OPTIONS = QNm.get(PREFIX, "options", XQUERYURI);
+  /** Worker pool for parallel evaluations (bounded by the number of available cores). */
+  private static final ForkJoinPool POOL = new ForkJoinPool();
 
   /** XQuery options. */
   public static class XQueryOptions extends Options {
@@ -60,6 +65,7 @@ public final class FNXQuery extends StandardFunc {
       case _XQUERY_UPDATE: return eval(ctx, true);
       case _XQUERY_INVOKE: return invoke(ctx);
       case _XQUERY_TYPE:   return value(ctx).iter();
+      case _XQUERY_FORK_JOIN: return forkJoin(ctx).iter();
       default:             return super.iter(ctx);
     }
   }
@@ -71,6 +77,7 @@ public final class FNXQuery extends StandardFunc {
       case _XQUERY_UPDATE: return eval(ctx, true).value();
       case _XQUERY_INVOKE: return invoke(ctx).value();
       case _XQUERY_TYPE:   return type(ctx).value(ctx);
+      case _XQUERY_FORK_JOIN: return forkJoin(ctx);
       default:             return super.value(ctx);
     }
   }
@@ -189,6 +196,37 @@ public final class FNXQuery extends StandardFunc {
     }
   }
 
+  /**
+   * Evaluates the specified functions in parallel and returns their results in order.
+   * Each function is evaluated with its own query context, which is stopped together with
+   * the calling query; resources and locks of the calling query are shared.
+   * @param ctx query context
+   * @return resulting value
+   * @throws QueryException query exception
+   */
+  private Value forkJoin(final QueryContext ctx) throws QueryException {
+    final Value funcs = ctx.value(expr[0]);
+    final int fs = (int) funcs.size();
+    final FItem[] fis = new FItem[fs];
+    for(int f = 0; f < fs; f++) {
+      final Item it = funcs.itemAt(f);
+      if(!(it instanceof FItem) || ((FItem) it).arity() != 0)
+        throw typeError(this, FuncType.arity(0), it);
+      fis[f] = (FItem) it;
+      if(fis[f].annotations().contains(Ann.Q_UPDATING)) throw UPNOT.get(info, description());
+    }
+    // single function: no need for parallelization
+    if(fs < 2) return fs == 0 ? Empty.SEQ : fis[0].invokeValue(ctx, info);
+
+    final ForkJoin task = new ForkJoin(fis, 0, fs, ctx, info);
+    try {
+      // nested calls are evaluated by the workers of the current pool
+      return ForkJoinTask.inForkJoinPool() ? task.invoke() : POOL.invoke(task);
+    } catch(final QueryRTException ex) {
+      throw ex.getCause();
+    }
+  }
+
   /**
    * Dumps the argument's type and size and returns it unchanged.
    * @param ctx query context
@@ -205,4 +243,57 @@ public final class FNXQuery extends StandardFunc {
     return !(oneOf(sig, _XQUERY_EVAL, _XQUERY_UPDATE, _XQUERY_INVOKE) && !visitor.lock(null)) &&
       super.accept(visitor);
   }
+
+  /** Task for evaluating a range of functions. */
+  private static final class ForkJoin extends RecursiveTask<Value> {
+    /** Functions. */
+    private final FItem[] funcs;
+    /** Index of the first function. */
+    private final int start;
+    /** Index after the last function. */
+    private final int end;
+    /** Query context of the calling query. */
+    private final QueryContext ctx;
+    /** Input info. */
+    private final InputInfo info;
+
+    /**
+     * Constructor.
+     * @param fs functions
+     * @param s index of the first function
+     * @param e index after the last function
+     * @param qc query context
+     * @param ii input info
+     */
+    ForkJoin(final FItem[] fs, final int s, final int e, final QueryContext qc,
+        final InputInfo ii) {
+      funcs = fs;
+      start = s;
+      end = e;
+      ctx = qc;
+      info = ii;
+    }
+
+    @Override
+    protected Value compute() {
+      if(end - start == 1) {
+        // the child context will be stopped if the calling query is stopped
+        final QueryContext qc = new QueryContext(ctx);
+        try {
+          qc.checkStop();
+          return funcs[start].invokeValue(qc, info);
+        } catch(final QueryException ex) {
+          throw new QueryRTException(ex);
+        } finally {
+          qc.close();
+        }
+      }
+      // evaluate second half asynchronously, first half in the current thread
+      final int mid = start + end >>> 1;
+      final ForkJoin second = new ForkJoin(funcs, mid, end, ctx, info);
+      second.fork();
+      final Value first = new ForkJoin(funcs, start, mid, ctx, info).compute();
+      return new ValueBuilder().add(first).add(second.join()).value();
+    }
+  }
 }
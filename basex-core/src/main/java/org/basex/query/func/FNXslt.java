@@ -10,16 +10,22 @@ import java.util.*;
 import java.util.Map.Entry;
 
 import javax.xml.transform.*;
+import javax.xml.transform.sax.*;
 import javax.xml.transform.stream.*;
 
+import org.basex.build.*;
+import org.basex.build.xml.*;
+import org.basex.core.*;
 import org.basex.io.*;
 import org.basex.io.out.*;
+import org.basex.io.serial.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
 import org.basex.util.options.*;
+import org.xml.sax.*;
 
 /**
  * Functions for performing XSLT transformations.
@@ -40,6 +46,8 @@ public final class FNXslt extends StandardFunc {
   };
   /** Implementation offset. */
   private static final int OFFSET;
+  /** Compiled style sheets. */
+  private static final SourceCache<Templates> TEMPLATES = new SourceCache<>();
 
   static {
     final String fac = TransformerFactory.class.getName();
@@ -100,30 +108,69 @@ public final class FNXslt extends StandardFunc {
    */
   private Item transform(final QueryContext ctx, final boolean node) throws QueryException {
     checkCreate(ctx);
-    final IO in = read(expr[0], ctx);
+    final Source in = source(expr[0], ctx);
     final IO xsl = read(expr[1], ctx);
     final Options opts = checkOptions(2, Q_PARAMETERS, new Options(), ctx);
 
-    final PrintStream tmp = System.err;
-    final ArrayOutput ao = new ArrayOutput();
+    final Errors errors = new Errors();
     try {
-      System.setErr(new PrintStream(ao));
-      final byte[] result = transform(in, xsl, opts.free());
-      return node ? new DBNode(new IOContent(result), ctx.context.options) : Str.get(result);
+      final Transformer tr = templates(xsl, errors).newTransformer();
+      tr.setErrorListener(errors);
+      // bind parameters
+      for(final Entry<String, String> entry : opts.free().entrySet())
+        tr.setParameter(entry.getKey(), entry.getValue());
+
+      if(!node) {
+        final ArrayOutput ao = new ArrayOutput();
+        tr.transform(in, new StreamResult(ao));
+        return Str.get(ao.toArray());
+      }
+
+      // pass on result events to a database builder
+      final MainOptions mopts = ctx.context.options;
+      return new DBNode(new SingleParser(new IOContent(EMPTY), mopts) {
+        @Override
+        protected void parse() throws IOException {
+          final SAXHandler sh = new SAXHandler(builder, options.get(MainOptions.CHOP),
+              options.get(MainOptions.STRIPNS));
+          final SAXResult result = new SAXResult(sh);
+          result.setLexicalHandler(sh);
+          try {
+            tr.transform(in, result);
+          } catch(final TransformerException ex) {
+            throw new XSLException(ex);
+          }
+        }
+      });
+    } catch(final XSLException ex) {
+      throw BXSL_ERROR.get(info, errors.message((TransformerException) ex.getCause()));
     } catch(final IOException ex) {
-      System.setErr(tmp);
       throw IOERR.get(info, ex);
     } catch(final TransformerException ex) {
-      System.setErr(tmp);
-      throw BXSL_ERROR.get(info, trim(utf8(ao.toArray(), Prop.ENCODING)));
-    } finally {
-      System.setErr(tmp);
+      throw BXSL_ERROR.get(info, errors.message(ex));
     }
   }
 
+  /**
+   * Returns a source for the specified input. Nodes will be passed on as SAX events.
+   * @param e expression to be evaluated
+   * @param ctx query context
+   * @return source
+   * @throws QueryException query exception
+   */
+  private Source source(final Expr e, final QueryContext ctx) throws QueryException {
+    final Item it = checkItem(e, ctx);
+    if(it.type.isNode()) {
+      final SAXSource src = new SAXSource(new SAXSerializer(it), new InputSource());
+      src.setSystemId(string(((ANode) it).baseURI()));
+      return src;
+    }
+    return read(it, ctx).streamSource();
+  }
+
   /**
    * Returns an input reference (possibly cached) to the specified input.
-   * @param e expressio nto be evaluated
+   * @param e expression to be evaluated
    * @param ctx query context
    * @return item
    * @throws QueryException query exception
@@ -139,34 +186,105 @@ public final class FNXslt extends StandardFunc {
         ex.getCause(info);
       }
     }
-    if(it.type.isStringOrUntyped()) {
-      return checkPath(it, ctx);
-    }
+    return read(it, ctx);
+  }
+
+  /**
+   * Returns an input reference for the specified string item.
+   * @param it item
+   * @param ctx query context
+   * @return input reference
+   * @throws QueryException query exception
+   */
+  private IO read(final Item it, final QueryContext ctx) throws QueryException {
+    if(it.type.isStringOrUntyped()) return checkPath(it, ctx);
     throw STRNODTYPE.get(info, this, it.type);
   }
 
   /**
-   * Uses Java's XSLT implementation to perform an XSL transformation.
-   * @param in input
+   * Returns the compiled version of the specified style sheet. Style sheets from local files
+   * and main-memory are cached. Cached style sheets are recompiled if an included or imported
+   * local file has been modified.
    * @param xsl style sheet
-   * @param par parameters
-   * @return transformed result
+   * @param errors error listener
+   * @return compiled style sheet
    * @throws TransformerException transformer exception
+   * @throws IOException I/O exception
    */
-  private static byte[] transform(final IO in, final IO xsl, final HashMap<String, String> par)
-      throws TransformerException {
+  private static Templates templates(final IO xsl, final Errors errors)
+      throws TransformerException, IOException {
+
+    final String key = SourceCache.key(xsl);
+    final Templates cached = TEMPLATES.get(key);
+    if(cached != null) return cached;
 
-    // create transformer
-    final TransformerFactory tc = TransformerFactory.newInstance();
-    final Transformer tr =  tc.newTransformer(xsl.streamSource());
+    // compile style sheet. factories are not thread-safe, but compiled style sheets are
+    final TransformerFactory tf = TransformerFactory.newInstance();
+    tf.setErrorListener(errors);
+    // record included and imported style sheets; resolution is left to the processor
+    final SourceCache.Includes includes = new SourceCache.Includes();
+    tf.setURIResolver(new URIResolver() {
+      @Override
+      public Source resolve(final String href, final String base) {
+        includes.add(href, base);
+        return null;
+      }
+    });
+    final Templates tmp = tf.newTemplates(xsl.streamSource());
+    TEMPLATES.put(key, tmp, includes);
+    return tmp;
+  }
 
-    // bind parameters
-    for(final Entry<String, String> entry : par.entrySet())
-      tr.setParameter(entry.getKey(), entry.getValue());
+  /** Error listener, collecting all reported warnings and errors. */
+  private static final class Errors implements ErrorListener {
+    /** Messages. */
+    private final TokenBuilder tb = new TokenBuilder();
+
+    @Override
+    public synchronized void warning(final TransformerException ex) {
+      add(ex);
+    }
+
+    @Override
+    public synchronized void error(final TransformerException ex) throws TransformerException {
+      add(ex);
+      throw ex;
+    }
 
-    // do transformation and return result
-    final ArrayOutput ao = new ArrayOutput();
-    tr.transform(in.streamSource(), new StreamResult(ao));
-    return ao.toArray();
+    @Override
+    public synchronized void fatalError(final TransformerException ex)
+        throws TransformerException {
+      add(ex);
+      throw ex;
+    }
+
+    /**
+     * Adds a message.
+     * @param ex exception
+     */
+    private void add(final TransformerException ex) {
+      if(!tb.isEmpty()) tb.add('\n');
+      tb.add(ex.getMessageAndLocation());
+    }
+
+    /**
+     * Returns all collected messages, or the message of the specified exception.
+     * @param ex exception
+     * @return message
+     */
+    synchronized String message(final TransformerException ex) {
+      return tb.isEmpty() ? ex.getMessageAndLocation() : tb.toString();
+    }
+  }
+
+  /** Exception for passing on transformer errors that occur while building a result node. */
+  private static final class XSLException extends IOException {
+    /**
+     * Constructor.
+     * @param ex transformer exception
+     */
+    XSLException(final TransformerException ex) {
+      super(ex);
+    }
   }
 }
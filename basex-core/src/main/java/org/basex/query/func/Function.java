@@ -463,6 +463,8 @@ public enum Function {
   _ADMIN_SESSIONS(FNAdmin.class, "sessions()", arg(), ELM_ZM),
   /** XQuery function. */
   _ADMIN_LOGS(FNAdmin.class, "logs([date[,merge]])", arg(STR, BLN), ELM_ZM),
+  /** XQuery function. */
+  _ADMIN_METRICS(FNAdmin.class, "metrics()", arg(), ELM_ZM, flag(NDT)),
 
   /* FNArchive functions. */
 
@@ -1028,6 +1030,9 @@ public enum Function {
       arg(STR, ITEM, ITEM), ITEM_ZM, flag(NDT)),
   /** XQuery function. */
   _XQUERY_TYPE(FNXQuery.class, "type(value)", arg(ITEM_ZM), ITEM_ZM),
+  /** XQuery function. */
+  _XQUERY_FORK_JOIN(FNXQuery.class, "fork-join(functions)", arg(FUN_ZM), ITEM_ZM,
+      flag(NDT, Flag.HOF)),
 
   /* FNXslt functions. */
 
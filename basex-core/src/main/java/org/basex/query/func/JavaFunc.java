@@ -4,6 +4,8 @@ import static org.basex.query.QueryText.*;
 import static org.basex.query.util.Err.*;
 
 import java.lang.reflect.*;
+import java.util.*;
+import java.util.List;
 
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -25,6 +27,12 @@ public final class JavaFunc extends JavaMapping {
   private final Class<?> cls;
   /** Java method. */
   private final String mth;
+  /** Public field with the specified name ({@code null} if it is not accessible). */
+  private final Field field;
+  /** Constructors or methods with the specified name and a matching number of arguments. */
+  private final Member[] members;
+  /** Parameters of the constructors or methods. */
+  private final JavaParams[] params;
 
   /**
    * Constructor.
@@ -39,6 +47,37 @@ public final class JavaFunc extends JavaMapping {
     super(sctx, ii, a);
     cls = c;
     mth = m;
+
+    // resolve candidates once: constructors, or methods with the specified name
+    final int al = a.length;
+    final List<Member> mem = new ArrayList<>();
+    Field f = null;
+    if(m.equals(NEW)) {
+      for(final Constructor<?> con : c.getConstructors()) {
+        if(con.getParameterTypes().length == al) mem.add(con);
+      }
+    } else {
+      // check if a field with the specified name exists
+      try {
+        f = c.getField(m);
+        if(al != (Modifier.isStatic(f.getModifiers()) ? 0 : 1)) f = null;
+      } catch(final NoSuchFieldException ex) { /* ignored */ }
+
+      for(final Method meth : c.getMethods()) {
+        if(!meth.getName().equals(m)) continue;
+        final boolean st = Modifier.isStatic(meth.getModifiers());
+        if(meth.getParameterTypes().length == (st ? al : al - 1)) mem.add(meth);
+      }
+    }
+    field = f;
+    final int ms = mem.size();
+    members = mem.toArray(new Member[ms]);
+    params = new JavaParams[ms];
+    for(int i = 0; i < ms; i++) {
+      final Member me = members[i];
+      params[i] = new JavaParams(me instanceof Method ? ((Method) me).getParameterTypes() :
+        ((Constructor<?>) me).getParameterTypes());
+    }
   }
 
   @Override
@@ -69,9 +108,10 @@ public final class JavaFunc extends JavaMapping {
    * @throws Exception exception
    */
   private Object constructor(final Value[] ar) throws Exception {
-    for(final Constructor<?> con : cls.getConstructors()) {
-      final Object[] arg = args(con.getParameterTypes(), null, ar, true);
-      if(arg != null) return con.newInstance(arg);
+    final int ml = members.length;
+    for(int m = 0; m < ml; m++) {
+      final Object[] arg = params[m].args(ar, true);
+      if(arg != null) return ((Constructor<?>) members[m]).newInstance(arg);
     }
     throw JAVACON.get(info, name(), foundArgs(ar));
   }
@@ -85,18 +125,16 @@ public final class JavaFunc extends JavaMapping {
    */
   private Object method(final Value[] ar, final QueryContext ctx) throws Exception {
     // check if a field with the specified name exists
-    try {
-      final Field f = cls.getField(mth);
-      final boolean st = Modifier.isStatic(f.getModifiers());
-      if(ar.length == (st ? 0 : 1)) {
-        return f.get(st ? null : instObj(ar[0]));
-      }
-    } catch(final NoSuchFieldException ex) { /* ignored */ }
+    if(field != null) {
+      final boolean st = Modifier.isStatic(field.getModifiers());
+      return field.get(st ? null : instObj(ar[0]));
+    }
 
-    for(final Method meth : cls.getMethods()) {
-      if(!meth.getName().equals(mth)) continue;
+    final int ml = members.length;
+    for(int m = 0; m < ml; m++) {
+      final Method meth = (Method) members[m];
       final boolean st = Modifier.isStatic(meth.getModifiers());
-      final Object[] arg = args(meth.getParameterTypes(), null, ar, st);
+      final Object[] arg = params[m].args(ar, st);
       if(arg != null) {
         Object inst = null;
         if(!st) {
@@ -124,58 +162,6 @@ public final class JavaFunc extends JavaMapping {
     return cls.isInstance(v) ? v : v.toJava();
   }
 
-  /**
-   * Converts the arguments to objects that match the specified function parameters.
-   * {@code null} is returned if conversion is not possible.
-   * @param params parameters
-   * @param vTypes value types
-   * @param args arguments
-   * @param stat static flag
-   * @return argument array, or {@code null}
-   * @throws QueryException query exception
-   */
-  static Object[] args(final Class<?>[] params, final boolean[] vTypes, final Value[] args,
-      final boolean stat) throws QueryException {
-
-    final int s = stat ? 0 : 1;
-    final int l = args.length - s;
-    if(l != params.length) return null;
-
-    // function arguments
-    final boolean[] vType = vTypes == null ? values(params) : vTypes;
-    final Object[] vals = new Object[l];
-    for(int a = 0; a < l; a++) {
-      final Class<?> param = params[a];
-      final Value arg = args[s + a];
-
-      if(arg.type.instanceOf(type(param))) {
-        // convert to Java object if an XQuery type exists for the function parameter
-        vals[a] = arg.toJava();
-      } else {
-        // convert to Java object if
-        // - argument is of type {@link Jav}, wrapping a Java object, or
-        // - function parameter is not of type {@link Value}, or a sub-class of it
-        vals[a] = arg instanceof Jav || !vType[a] ? arg.toJava() : arg;
-        // abort conversion if argument is not an instance of function parameter
-        if(!param.isInstance(vals[a])) return null;
-      }
-    }
-    return vals;
-  }
-
-  /**
-   * Returns a boolean array that indicated which of the specified function parameters are of
-   * (sub)class {@link Value}.
-   * @param params parameters
-   * @return array
-   */
-  static boolean[] values(final Class<?>[] params) {
-    final int l = params.length;
-    final boolean[] vals = new boolean[l];
-    for(int a = 0; a < l; a++) vals[a] = Value.class.isAssignableFrom(params[a]);
-    return vals;
-  }
-
   @Override
   public void plan(final FElem plan) {
     addPlan(plan, planElem(NAM, cls.getName() + '.' + mth), expr);
@@ -27,9 +27,7 @@ public final class JavaModuleFunc extends JavaMapping {
   /** Method to be called. */
   private final Method mth;
   /** Method parameters. */
-  private final Class<?>[] params;
-  /** Indicates if function parameters are of (sub)class {@link Value}. */
-  private final boolean[] vTypes;
+  private final JavaParams params;
 
   /**
    * Constructor.
@@ -44,8 +42,7 @@ public final class JavaModuleFunc extends JavaMapping {
     super(sctx, ii, a);
     module = jm;
     mth = m;
-    params = m.getParameterTypes();
-    vTypes = JavaFunc.values(params);
+    params = new JavaParams(m.getParameterTypes());
   }
 
   @Override
@@ -57,7 +54,7 @@ public final class JavaModuleFunc extends JavaMapping {
       mod.queryContext = ctx;
     }
 
-    final Object[] args = JavaFunc.args(params, vTypes, vals, true);
+    final Object[] args = params.args(vals, true);
     if(args != null) {
       try {
         return mth.invoke(module, args);
@@ -73,7 +70,7 @@ public final class JavaModuleFunc extends JavaMapping {
 
     // compose error message: expected arguments
     final TokenBuilder expect = new TokenBuilder();
-    for(final Class<?> c : mth.getParameterTypes()) {
+    for(final Class<?> c : params.types) {
       if(!expect.isEmpty()) expect.add(", ");
       expect.add(Util.className(c));
     }
@@ -0,0 +1,70 @@
+package org.basex.query.func;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+
+/**
+ * Parameters of a Java method or constructor. The information that is needed to convert
+ * XQuery values to the expected Java types is computed once and reused for all calls.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+final class JavaParams {
+  /** Parameter types. */
+  final Class<?>[] types;
+  /** XQuery types of the parameters ({@code null} if no appropriate type exists). */
+  private final Type[] xqTypes;
+  /** Indicates if parameters are of (sub)class {@link Value}. */
+  private final boolean[] values;
+
+  /**
+   * Constructor.
+   * @param params parameter types
+   */
+  JavaParams(final Class<?>[] params) {
+    types = params;
+    final int l = params.length;
+    xqTypes = new Type[l];
+    values = new boolean[l];
+    for(int p = 0; p < l; p++) {
+      xqTypes[p] = JavaMapping.type(params[p]);
+      values[p] = Value.class.isAssignableFrom(params[p]);
+    }
+  }
+
+  /**
+   * Converts the arguments to objects that match the function parameters.
+   * {@code null} is returned if conversion is not possible.
+   * @param args arguments
+   * @param stat static flag (if not set, the first argument will be skipped)
+   * @return argument array, or {@code null}
+   * @throws QueryException query exception
+   */
+  Object[] args(final Value[] args, final boolean stat) throws QueryException {
+    final int s = stat ? 0 : 1;
+    final int l = args.length - s;
+    if(l != types.length) return null;
+
+    final Object[] vals = new Object[l];
+    for(int a = 0; a < l; a++) {
+      final Class<?> param = types[a];
+      final Value arg = args[s + a];
+
+      if(arg.type.instanceOf(xqTypes[a])) {
+        // convert to Java object if an XQuery type exists for the function parameter
+        vals[a] = arg.toJava();
+      } else {
+        // convert to Java object if
+        // - argument is of type {@link Jav}, wrapping a Java object, or
+        // - function parameter is not of type {@link Value}, or a sub-class of it
+        vals[a] = arg instanceof Jav || !values[a] ? arg.toJava() : arg;
+        // abort conversion if argument is not an instance of function parameter
+        if(!param.isInstance(vals[a])) return null;
+      }
+    }
+    return vals;
+  }
+}
@@ -0,0 +1,144 @@
+package org.basex.query.func;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+
+/**
+ * Cache for compiled style sheets and schemas. Local files are indexed by their path and
+ * timestamp, and main-memory sources by their base URI and contents. As sources may include
+ * or import other resources, the local files that have been resolved during compilation are
+ * recorded as well: an entry is discarded as soon as one of these files has been modified.
+ * Sources that refer to resources other than local files are not cached.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ * @param <T> type of the compiled sources
+ */
+final class SourceCache<T> {
+  /** Maximum number of cached sources. */
+  private static final int MAX = 64;
+
+  /** Compiled sources, sorted by their last access. */
+  private final LinkedHashMap<String, Source<T>> sources =
+    new LinkedHashMap<String, Source<T>>(MAX, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Source<T>> eldest) {
+        return size() > MAX;
+      }
+    };
+
+  /**
+   * Returns the cache key for the specified input.
+   * @param io input
+   * @return key, or {@code null} if the input cannot be cached
+   * @throws IOException I/O exception
+   */
+  static String key(final IO io) throws IOException {
+    return io instanceof IOFile ? io.path() + '|' + io.timeStamp() :
+      io instanceof IOContent ? io.name() + '|' + io.string() : null;
+  }
+
+  /**
+   * Returns a cached source.
+   * @param key key (can be {@code null})
+   * @return compiled source, or {@code null} if it is not cached or if it is outdated
+   */
+  synchronized T get(final String key) {
+    if(key == null) return null;
+    final Source<T> src = sources.get(key);
+    if(src == null) return null;
+    if(src.includes.valid()) return src.value;
+    sources.remove(key);
+    return null;
+  }
+
+  /**
+   * Caches a compiled source.
+   * @param key key (can be {@code null})
+   * @param value compiled source
+   * @param includes resources that have been resolved during compilation
+   */
+  synchronized void put(final String key, final T value, final Includes includes) {
+    if(includes.close() && key != null) sources.put(key, new Source<>(value, includes));
+  }
+
+  /** Compiled source. */
+  private static final class Source<T> {
+    /** Compiled source. */
+    final T value;
+    /** Included resources. */
+    final Includes includes;
+
+    /**
+     * Constructor.
+     * @param value compiled source
+     * @param includes included resources
+     */
+    Source(final T value, final Includes includes) {
+      this.value = value;
+      this.includes = includes;
+    }
+  }
+
+  /**
+   * Resources that are resolved while a source is compiled. References to resources are
+   * passed on by the URI resolvers of the compilers.
+   */
+  static final class Includes {
+    /** Included local files. */
+    private final ArrayList<IOFile> files = new ArrayList<>();
+    /** Timestamps of the included files. */
+    private final ArrayList<Long> stamps = new ArrayList<>();
+    /** Flag for resources other than local files. */
+    private boolean other;
+    /** Flag for finished compilation (references will be ignored). */
+    private boolean closed;
+
+    /**
+     * Adds a reference to an included resource.
+     * @param href reference
+     * @param base base URI (can be {@code null})
+     */
+    synchronized void add(final String href, final String base) {
+      if(closed || href == null) return;
+      try {
+        final URI uri = base == null || base.isEmpty() ? new URI(href) :
+          new URI(base).resolve(href);
+        final IO io = uri.isAbsolute() ? IO.get(uri.toString()) : null;
+        if(io instanceof IOFile) {
+          files.add((IOFile) io);
+          stamps.add(io.timeStamp());
+          return;
+        }
+      } catch(final URISyntaxException | IllegalArgumentException ex) {
+        Util.debug(ex);
+      }
+      other = true;
+    }
+
+    /**
+     * Finishes the recording of references.
+     * @return {@code true} if only local files have been referenced
+     */
+    private synchronized boolean close() {
+      closed = true;
+      return !other;
+    }
+
+    /**
+     * Checks if none of the included files has been modified.
+     * @return result of check
+     */
+    private synchronized boolean valid() {
+      final int fs = files.size();
+      for(int f = 0; f < fs; f++) {
+        if(files.get(f).timeStamp() != stamps.get(f)) return false;
+      }
+      return true;
+    }
+  }
+}
@@ -44,6 +44,18 @@ public final class GFLWOR extends ParseExpr {
 
   @Override
   public Iter iter(final QueryContext ctx) {
+    return iter(ctx, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns an iterator, which may stop after the specified number of results.
+   * If the last clause is an {@code order by} clause, and if the return expression yields
+   * a single item per tuple, only the leading tuples will be sorted.
+   * @param ctx query context
+   * @param limit maximum number of results to be returned
+   * @return iterator
+   */
+  public Iter iter(final QueryContext ctx, final long limit) {
     // Start evaluator, doing nothing, once.
     Eval e = new Eval() {
       /** First-evaluation flag. */
@@ -56,7 +68,11 @@ public final class GFLWOR extends ParseExpr {
       }
     };
 
-    for(final Clause cls : clauses) e = cls.eval(e);
+    final Clause last = clauses.getLast();
+    final boolean topk = limit != Long.MAX_VALUE && last instanceof OrderBy && ret.size() == 1;
+    for(final Clause cls : clauses) {
+      e = topk && cls == last ? ((OrderBy) cls).eval(e, limit) : cls.eval(e);
+    }
     final Eval ev = e;
 
     return new Iter() {
@@ -15,6 +15,7 @@ import org.basex.query.value.node.*;
 import org.basex.query.var.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 
 /**
@@ -43,6 +44,18 @@ public final class OrderBy extends GFLWOR.Clause {
 
   @Override
   Eval eval(final Eval sub) {
+    return eval(sub, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns an evaluator that only returns the specified number of leading tuples.
+   * If the limit is smaller than the number of incoming tuples, the tuples are not sorted
+   * completely: only the best tuples are retained in a bounded heap (top-k sort).
+   * @param sub wrapped evaluator
+   * @param limit maximum number of tuples to be returned
+   * @return evaluator
+   */
+  Eval eval(final Eval sub, final long limit) {
     return new Eval() {
       /** Sorted output tuples. */
       private Value[][] tpls;
@@ -53,7 +66,7 @@ public final class OrderBy extends GFLWOR.Clause {
       @Override
       public boolean next(final QueryContext ctx) throws QueryException {
         if(tpls == null) sort(ctx);
-        if(pos == tpls.length) return false;
+        if(pos == perm.length) return false;
         final int p = perm[pos++];
         final Value[] tuple = tpls[p];
         // free the space occupied by the tuple
@@ -68,59 +81,133 @@ public final class OrderBy extends GFLWOR.Clause {
        * @throws QueryException evaluation exception
        */
       private void sort(final QueryContext ctx) throws QueryException {
-        // keys are stored at odd positions, values at even ones
-        List<Value[]> tuples = new ArrayList<>();
-        while(sub.next(ctx)) {
-          final Item[] key = new Item[keys.length];
-          for(int i = 0; i < keys.length; i++)
-            key[i] = keys[i].expr.item(ctx, keys[i].info);
-          tuples.add(key);
-
-          final Value[] vals = new Value[refs.length];
-          for(int i = 0; i < refs.length; i++) vals[i] = refs[i].value(ctx);
-          tuples.add(vals);
-        }
-
-        final int len = tuples.size() >>> 1;
-        final Item[][] ks = new Item[len][];
-        perm = new Integer[len];
-        tpls = new Value[len][];
-        for(int i = 0; i < len; i++) {
-          perm[i] = i;
-          tpls[i] = tuples.get(i << 1 | 1);
-          ks[i] = (Item[]) tuples.get(i << 1);
-        }
-        // be nice to the garbage collector
-        tuples = null;
+        final ArrayList<Item[]> ks = new ArrayList<>();
+        final ArrayList<Value[]> vs = new ArrayList<>();
+        final Comparator<Integer> cmp = comparator(ks);
         try {
-          Arrays.sort(perm, new Comparator<Integer>() {
-            @Override
-            public int compare(final Integer x, final Integer y) {
-              try {
-                final Item[] a = ks[x], b = ks[y];
-                for(int k = 0; k < keys.length; k++) {
-                  final Key or = keys[k];
-                  Item m = a[k], n = b[k];
-                  if(m == Dbl.NAN || m == Flt.NAN) m = null;
-                  if(n == Dbl.NAN || n == Flt.NAN) n = null;
-                  if(m != null && n != null && !m.comparable(n))
-                    throw Err.castError(or.info, m.type, n);
-
-                  final int c = m == null
-                      ? n == null ? 0                 : or.least ? -1 : 1
-                      : n == null ? or.least ? 1 : -1 : m.diff(n, or.coll, or.info);
-                  if(c != 0) return or.desc ? -c : c;
-                }
-                return 0;
-              } catch(final QueryException ex) {
-                throw new QueryRTException(ex);
-              }
+          if(limit < 0 || limit >= Integer.MAX_VALUE) {
+            while(sub.next(ctx)) {
+              ks.add(keys(ctx));
+              vs.add(values(ctx));
             }
-          });
+            final int len = vs.size();
+            perm = new Integer[len];
+            for(int i = 0; i < len; i++) perm[i] = i;
+            Arrays.sort(perm, cmp);
+          } else {
+            topk(ctx, ks, vs, cmp);
+          }
+          tpls = vs.toArray(new Value[vs.size()][]);
         } catch(final QueryRTException ex) {
           throw ex.getCause();
         }
       }
+
+      /**
+       * Retains the best tuples in a bounded heap (top-k sort). The heap contains the slots
+       * of the best tuples, worst tuple first. The slot of a discarded tuple is reused by the
+       * next tuple, so no more than {@code limit + 1} tuples are cached.
+       * @param ctx query context
+       * @param ks keys of the cached tuples
+       * @param vs values of the cached tuples
+       * @param cmp comparator
+       * @throws QueryException evaluation exception
+       */
+      private void topk(final QueryContext ctx, final ArrayList<Item[]> ks,
+          final ArrayList<Value[]> vs, final Comparator<Integer> cmp) throws QueryException {
+
+        // positions of the cached tuples in the input, used to keep the sort stable
+        final IntList order = new IntList();
+        final MinHeap<Integer, Integer> heap = new MinHeap<>(
+          (int) Math.min(limit + 1, 1 << 10), new Comparator<Integer>() {
+          @Override
+          public int compare(final Integer x, final Integer y) {
+            final int c = cmp.compare(x, y);
+            return c != 0 ? -c : order.get(y) - order.get(x);
+          }
+        });
+
+        int free = -1;
+        for(int p = 0; sub.next(ctx); p++) {
+          final Item[] key = keys(ctx);
+          final Value[] vals = values(ctx);
+          final int s;
+          if(free == -1) {
+            s = vs.size();
+            ks.add(key);
+            vs.add(vals);
+            order.add(p);
+          } else {
+            s = free;
+            ks.set(s, key);
+            vs.set(s, vals);
+            order.set(s, p);
+          }
+          heap.insert(s, s);
+          // discard the worst tuple
+          free = heap.size() > limit ? heap.removeMin() : -1;
+        }
+
+        perm = new Integer[heap.size()];
+        for(int p = perm.length; --p >= 0;) perm[p] = heap.removeMin();
+      }
+
+      /**
+       * Evaluates the sort keys of the current tuple.
+       * @param ctx query context
+       * @return keys
+       * @throws QueryException evaluation exception
+       */
+      private Item[] keys(final QueryContext ctx) throws QueryException {
+        final Item[] key = new Item[keys.length];
+        for(int i = 0; i < keys.length; i++) key[i] = keys[i].expr.item(ctx, keys[i].info);
+        return key;
+      }
+
+      /**
+       * Returns the values of the variables of the current tuple.
+       * @param ctx query context
+       * @return values
+       */
+      private Value[] values(final QueryContext ctx) {
+        final Value[] vals = new Value[refs.length];
+        for(int i = 0; i < refs.length; i++) vals[i] = refs[i].value(ctx);
+        return vals;
+      }
+    };
+  }
+
+  /**
+   * Returns a comparator for the indexes of the specified sort keys.
+   * The {@link Comparator#compare(Object, Object)} method throws a
+   * {@link QueryRTException} if the comparison throws a {@link QueryException}.
+   * @param ks sort keys
+   * @return comparator
+   */
+  private Comparator<Integer> comparator(final List<Item[]> ks) {
+    return new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer x, final Integer y) {
+        try {
+          final Item[] a = ks.get(x), b = ks.get(y);
+          for(int k = 0; k < keys.length; k++) {
+            final Key or = keys[k];
+            Item m = a[k], n = b[k];
+            if(m == Dbl.NAN || m == Flt.NAN) m = null;
+            if(n == Dbl.NAN || n == Flt.NAN) n = null;
+            if(m != null && n != null && !m.comparable(n))
+              throw Err.castError(or.info, m.type, n);
+
+            final int c = m == null
+                ? n == null ? 0                 : or.least ? -1 : 1
+                : n == null ? or.least ? 1 : -1 : m.diff(n, or.coll, or.info);
+            if(c != 0) return or.desc ? -c : c;
+          }
+          return 0;
+        } catch(final QueryException ex) {
+          throw new QueryRTException(ex);
+        }
+      }
     };
   }
 
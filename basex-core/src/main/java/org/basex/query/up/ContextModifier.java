@@ -3,10 +3,13 @@ package org.basex.query.up;
 import static org.basex.query.util.Err.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -24,6 +27,20 @@ public abstract class ContextModifier {
   /** Temporary data reference, containing all XML fragments to be inserted. */
   private MemData tmp;
 
+  /** Threads for applying updates in parallel. Idle threads are reused by later updates. */
+  private static final ExecutorService POOL = Executors.newCachedThreadPool(new ThreadFactory() {
+    /** Thread counter. */
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable r) {
+      final Thread thread = new Thread(r, Util.className(ContextModifier.class) + '-' +
+          count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
   /**
    * Adds an update primitive to this context modifier.
    * @param up update primitive
@@ -114,7 +131,7 @@ public abstract class ContextModifier {
         i++;
       }
       // apply node and database update
-      for(final DataUpdates up : dbUpdates.values()) up.apply();
+      apply(dbUpdates.values());
     } finally {
       // remove locks: in case of a crash, remove only already acquired write locks
       for(final Data data : datas) {
@@ -126,6 +143,70 @@ public abstract class ContextModifier {
     for(final NameUpdates up : nameUpdates.values()) up.apply(false);
   }
 
+  /**
+   * Applies the updates of the specified databases. If all updates are node updates,
+   * and if more than one database is affected, the databases will be updated in parallel
+   * by at most one thread per available processor. Threads are taken from a shared pool,
+   * and no more databases are updated once an update has failed. Database operations are
+   * always applied sequentially, as they may temporarily modify the global options.
+   *
+   * The temporary data instance, which is shared by all databases, has been completely
+   * built by {@link #add(Update)} and {@link #prepare()} before the updates are applied.
+   * The inserted fragments are only read from this instance (see {@link Data#insert} and
+   * {@link Data#replace}), so it can safely be accessed by several threads.
+   * @param updates updates
+   * @throws QueryException query exception
+   */
+  private static void apply(final Collection<DataUpdates> updates) throws QueryException {
+    boolean parallel = updates.size() > 1;
+    for(final DataUpdates up : updates) parallel &= !up.dbUpdates();
+    if(!parallel) {
+      for(final DataUpdates up : updates) up.apply();
+      return;
+    }
+
+    final DataUpdates[] ups = updates.toArray(new DataUpdates[updates.size()]);
+    final int n = ups.length;
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final AtomicInteger next = new AtomicInteger();
+    final Runnable task = new Runnable() {
+      @Override
+      public void run() {
+        // no more databases are updated once an update has failed
+        try {
+          for(int i; error.get() == null && (i = next.getAndIncrement()) < n;) ups[i].apply();
+        } catch(final Throwable ex) {
+          error.compareAndSet(null, ex);
+        }
+      }
+    };
+    // the calling thread takes part in the updates
+    final int s = Math.min(n, Runtime.getRuntime().availableProcessors());
+    final Future<?>[] futures = new Future<?>[s - 1];
+    for(int t = 0; t < s - 1; t++) futures[t] = POOL.submit(task);
+    task.run();
+
+    // wait until all databases have been updated (write locks will be released afterwards)
+    for(final Future<?> future : futures) {
+      boolean done = false;
+      while(!done) {
+        try {
+          future.get();
+          done = true;
+        } catch(final InterruptedException ex) {
+          Util.debug(ex);
+        } catch(final ExecutionException ex) {
+          Util.debug(ex);
+          done = true;
+        }
+      }
+    }
+    final Throwable ex = error.get();
+    if(ex instanceof QueryException) throw (QueryException) ex;
+    if(ex instanceof RuntimeException) throw (RuntimeException) ex;
+    if(ex instanceof Error) throw (Error) ex;
+  }
+
   /**
    * Returns the total number of update operations.
    * @return number of updates
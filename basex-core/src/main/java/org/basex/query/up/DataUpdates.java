@@ -151,6 +151,14 @@ final class DataUpdates {
     data.finishUpdate();
   }
 
+  /**
+   * Checks if database operations have been added to the list.
+   * @return result of check
+   */
+  boolean dbUpdates() {
+    return !dbUpdates.isEmpty();
+  }
+
   /**
    * Returns the data instance.
    * @return data data instance
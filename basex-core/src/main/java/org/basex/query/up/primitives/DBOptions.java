@@ -21,10 +21,12 @@ final class DBOptions {
   /** Numeric index options. */
   private static final NumberOption[] N_OPT = { MainOptions.MAXCATS, MainOptions.MAXLEN,
     MainOptions.INDEXSPLITSIZE, MainOptions.FTINDEXSPLITSIZE };
-  /** Boolean index options. */
+  /** Boolean index options (the last ones can only be assigned at creation time). */
   private static final BooleanOption[] B_OPT = { MainOptions.TEXTINDEX, MainOptions.ATTRINDEX,
     MainOptions.FTINDEX, MainOptions.STEMMING, MainOptions.CASESENS, MainOptions.DIACRITICS,
-    MainOptions.UPDINDEX };
+    MainOptions.UPDINDEX, MainOptions.SHARETEXTS };
+  /** Number of boolean options that can only be assigned at creation time. */
+  private static final int B_CREATE = 2;
   /** String index options. */
   private static final StringOption[] S_OPT = { MainOptions.LANGUAGE, MainOptions.STOPWORDS };
   /** Names of numeric index options. */
@@ -74,8 +76,9 @@ final class DBOptions {
   void check(final boolean create) throws QueryException {
     for(final Entry<String, String> entry : options.entrySet()) {
       final String key = entry.getKey();
-      if(!eq(key, K_N_OPT) && !eq(key, K_B_OPT) && !eq(key, K_S_OPT) ||
-         !create && eq(key, K_B_OPT[K_B_OPT.length - 1])) throw BASX_OPTIONS.get(info, key);
+      if(!eq(key, K_N_OPT) && !eq(key, K_B_OPT) && !eq(key, K_S_OPT) || !create &&
+         eq(key, Arrays.copyOfRange(K_B_OPT, K_B_OPT.length - B_CREATE, K_B_OPT.length)))
+        throw BASX_OPTIONS.get(info, key);
       final String v = entry.getValue();
       if(eq(key, K_N_OPT)) {
         if(toInt(v) < 0) throw BASX_VALUE.get(info, key, v);
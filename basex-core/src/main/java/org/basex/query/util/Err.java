@@ -117,6 +117,8 @@ public enum Err {
   BXDB_NOBACKUP(BXDB, 15, "No backup found: %."),
   /** BXDB0016. */
   BXDB_SAME(BXDB, 16, "Name of source and target database is equal: %."),
+  /** BXDB0017. */
+  BXDB_DEPBACK(BXDB, 17, "Backup '%' is based on a backup to be dropped."),
 
   // Fetch module
 
@@ -0,0 +1,215 @@
+package org.basex.query.util;
+
+import static org.basex.core.Text.*;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Collects evaluation statistics of a query: the number of evaluations, returned items
+ * and the time spent in each expression that is evaluated via
+ * {@link QueryContext#iter(Expr)} or {@link QueryContext#value(Expr)}, and the locks
+ * that were acquired for the query.
+ *
+ * Times are inclusive: the time spent in an expression also contains the time spent in
+ * the expressions it consumes. A profiler is only created if slow queries are logged;
+ * otherwise, the hooks in the query context reduce to a single {@code null} check.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class Profiler {
+  /** Maximum number of expressions to be returned. */
+  private static final int MAX = 10;
+  /** Maximum length of an expression string. */
+  private static final int LENGTH = 60;
+
+  /** Statistics of evaluated expressions. */
+  private final IdentityHashMap<Expr, Stats> stats = new IdentityHashMap<>();
+  /** Read locks ({@code null}: global lock). */
+  private StringList read;
+  /** Write locks ({@code null}: global lock). */
+  private StringList write;
+  /** Time spent waiting for the locks (nanoseconds). */
+  private long wait;
+
+  /**
+   * Records the evaluation of an expression and returns a profiled iterator.
+   * @param expr evaluated expression
+   * @param iter iterator returned by the expression
+   * @param start start time of the evaluation
+   * @return iterator
+   */
+  public Iter iter(final Expr expr, final Iter iter, final long start) {
+    final Stats st = stats(expr);
+    // items of value iterators have already been computed
+    if(iter instanceof ValueIter) {
+      st.add(System.nanoTime() - start, Math.max(0, iter.size()), true);
+      return iter;
+    }
+    st.add(System.nanoTime() - start, 0, true);
+
+    if(iter instanceof NodeIter) {
+      return new NodeIter() {
+        @Override
+        public ANode next() throws QueryException {
+          final long s = System.nanoTime();
+          final ANode n = ((NodeIter) iter).next();
+          st.add(System.nanoTime() - s, n == null ? 0 : 1, false);
+          return n;
+        }
+        @Override
+        public Item get(final long i) throws QueryException {
+          return iter.get(i);
+        }
+        @Override
+        public long size() {
+          return iter.size();
+        }
+        @Override
+        public boolean reset() {
+          return iter.reset();
+        }
+      };
+    }
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        final long s = System.nanoTime();
+        final Item it = iter.next();
+        st.add(System.nanoTime() - s, it == null ? 0 : 1, false);
+        return it;
+      }
+      @Override
+      public Item get(final long i) throws QueryException {
+        return iter.get(i);
+      }
+      @Override
+      public long size() {
+        return iter.size();
+      }
+      @Override
+      public boolean reset() {
+        return iter.reset();
+      }
+      @Override
+      public Value value() throws QueryException {
+        final long s = System.nanoTime();
+        final Value v = iter.value();
+        st.add(System.nanoTime() - s, v.size(), false);
+        return v;
+      }
+    };
+  }
+
+  /**
+   * Records the evaluation of an expression.
+   * @param expr evaluated expression
+   * @param value resulting value
+   * @param start start time of the evaluation
+   * @return value
+   */
+  public Value value(final Expr expr, final Value value, final long start) {
+    stats(expr).add(System.nanoTime() - start, value.size(), true);
+    return value;
+  }
+
+  /**
+   * Records the locks of the query.
+   * @param rd read locks ({@code null}: global lock)
+   * @param wr write locks ({@code null}: global lock)
+   * @param wt time spent waiting for the locks (nanoseconds)
+   */
+  public synchronized void locked(final StringList rd, final StringList wr, final long wt) {
+    read = rd;
+    write = wr;
+    wait += wt;
+  }
+
+  /**
+   * Returns a single-line summary of the lock wait time, the locked databases and the
+   * most expensive expressions.
+   * @return summary
+   */
+  @Override
+  public synchronized String toString() {
+    final TokenBuilder tb = new TokenBuilder();
+    tb.add("Lock wait: ").add(Performance.getTime(wait, 1));
+    tb.add("; Read locks: ").add(locks(read));
+    tb.add("; Write locks: ").add(locks(write));
+
+    final ArrayList<Map.Entry<Expr, Stats>> list = new ArrayList<>(stats.entrySet());
+    Collections.sort(list, new Comparator<Map.Entry<Expr, Stats>>() {
+      @Override
+      public int compare(final Map.Entry<Expr, Stats> e1, final Map.Entry<Expr, Stats> e2) {
+        final long t1 = e1.getValue().time, t2 = e2.getValue().time;
+        return t1 < t2 ? 1 : t1 > t2 ? -1 : 0;
+      }
+    });
+    final int l = Math.min(MAX, list.size());
+    for(int i = 0; i < l; i++) {
+      final Expr expr = list.get(i).getKey();
+      final Stats st = list.get(i).getValue();
+      String string = expr.toString();
+      if(string.length() > LENGTH) string = string.substring(0, LENGTH) + DOTS;
+      tb.add(i == 0 ? "; Expressions: " : ", ").add(Util.className(expr)).add(" {").add(string);
+      tb.add("}: ").add(Performance.getTime(st.time, 1)).add(", ");
+      tb.addLong(st.items).add(" items, ").addLong(st.calls).add(" calls");
+    }
+    return tb.toString();
+  }
+
+  /**
+   * Returns a string representation of the specified locks.
+   * @param locks locks
+   * @return string
+   */
+  private static String locks(final StringList locks) {
+    return locks == null ? GLOBAL : locks.isEmpty() ? NONE :
+      Arrays.toString(locks.toArray());
+  }
+
+  /**
+   * Returns the statistics for the specified expression.
+   * @param expr expression
+   * @return statistics
+   */
+  private synchronized Stats stats(final Expr expr) {
+    Stats st = stats.get(expr);
+    if(st == null) {
+      st = new Stats();
+      stats.put(expr, st);
+    }
+    return st;
+  }
+
+  /** Statistics of a single expression. */
+  private static final class Stats {
+    /** Number of evaluations. */
+    long calls;
+    /** Number of returned items. */
+    long items;
+    /** Time spent in the expression (nanoseconds). */
+    long time;
+
+    /**
+     * Adds a measurement.
+     * @param tm time (nanoseconds)
+     * @param it number of items
+     * @param call new evaluation
+     */
+    synchronized void add(final long tm, final long it, final boolean call) {
+      time += tm;
+      items += it;
+      if(call) calls++;
+    }
+  }
+}
@@ -57,37 +57,34 @@ public final class HTTPClient {
   public Iter sendRequest(final byte[] href, final ANode request, final ValueBuilder bodies)
       throws QueryException {
 
+    HttpURLConnection conn = null;
     try {
       if(request == null) {
         if(href == null || href.length == 0) throw HC_PARAMS.get(info);
-        final HttpURLConnection conn = openConnection(string(href));
-        try {
-          return new HTTPResponse(info, options).getResponse(conn, Bln.FALSE.string(), null);
-        } finally {
-          conn.disconnect();
-        }
+        conn = openConnection(string(href));
+        return new HTTPResponse(info, options).getResponse(conn, Bln.FALSE.string(), null);
       }
 
       final HTTPRequest r = new HTTPRequestParser(info).parse(request, bodies);
       final byte[] dest = href == null ? r.attrs.get(HREF) : href;
       if(dest == null) throw HC_URL.get(info);
 
-      final HttpURLConnection conn = openConnection(string(dest));
-      try {
-        setConnectionProps(conn, r);
-        setRequestHeaders(conn, r);
+      // successful connections are not disconnected: after the response has been consumed,
+      // the underlying socket will be kept alive and reused for subsequent requests
+      conn = openConnection(string(dest));
+      setConnectionProps(conn, r);
+      setRequestHeaders(conn, r);
 
-        if(r.bodyContent.size() != 0 || !r.parts.isEmpty()) {
-          setContentType(conn, r);
-          setRequestContent(conn.getOutputStream(), r);
-        }
-        final byte[] mt = r.attrs.get(OVERRIDE_MEDIA_TYPE);
-        return new HTTPResponse(info, options).getResponse(conn, r.attrs.get(STATUS_ONLY),
-            mt == null ? null : string(mt));
-      } finally {
-        conn.disconnect();
+      if(r.bodyContent.size() != 0 || !r.parts.isEmpty()) {
+        setContentType(conn, r);
+        setRequestContent(conn.getOutputStream(), r);
       }
+      final byte[] mt = r.attrs.get(OVERRIDE_MEDIA_TYPE);
+      return new HTTPResponse(info, options).getResponse(conn, r.attrs.get(STATUS_ONLY),
+          mt == null ? null : string(mt));
     } catch(final IOException ex) {
+      // close the socket, as the response may not have been consumed
+      if(conn != null) conn.disconnect();
       throw HC_ERROR.get(info, ex);
     }
   }
@@ -85,8 +85,9 @@ public final class HTTPPayload {
       // single part response
       body = new FElem(Q_BODY).add(MEDIA_TYPE, ct);
       if(payloads != null) {
-        final byte[] pl = extract(ct, charset(ctype));
-        payloads.add(parse(pl, ct));
+        // stream input to parser if no character set conversion is required
+        final String ce = charset(ctype);
+        payloads.add(ce == null && parsed(ct) ? parse(ct) : parse(extract(ct, ce), ct));
       }
     }
     return body;
@@ -109,18 +110,36 @@ public final class HTTPPayload {
    * @throws IOException I/O Exception
    */
   private byte[] extract(final String ctype, final String ce) throws IOException {
-    final BufferedInputStream bis = new BufferedInputStream(in);
+    final BufferInput bi = new BufferInput(in);
     try {
-      final ByteList bl = new ByteList();
-      for(int i; (i = bis.read()) != -1;) bl.add(i);
+      final byte[] bytes = bi.content();
       // In case of XML, HTML or text content type, use supplied character set
       if(isXML(ctype) || isText(ctype))
-        return new TextInput(new IOContent(bl.toArray())).encoding(ce).content();
+        return new TextInput(new IOContent(bytes)).encoding(ce).content();
 
       // In case of binary data, do not encode anything
-      return bl.toArray();
+      return bytes;
     } finally {
-      bis.close();
+      bi.close();
+    }
+  }
+
+  /**
+   * Parses the payload from the input stream, without buffering it first.
+   * @param ctype content type
+   * @return interpreted payload
+   * @throws IOException I/O exception
+   * @throws QueryException query exception
+   */
+  private Value parse(final String ctype) throws IOException, QueryException {
+    final BufferedInputStream bis = new BufferedInputStream(in);
+    bis.mark(1);
+    if(bis.read() == -1) return Empty.SEQ;
+    bis.reset();
+    try {
+      return value(new IOStream(bis), options, ctype, null);
+    } catch(final IOException ex) {
+      throw HC_PARSE.get(info, ex);
     }
   }
 
@@ -361,6 +380,16 @@ public final class HTTPPayload {
     return val == null ? new B64(in.read()) : val;
   }
 
+  /**
+   * Checks if a payload with the specified content type will be passed on to a parser.
+   * @param ctype content type
+   * @return result of check
+   */
+  private static boolean parsed(final String ctype) {
+    return isJSON(ctype) || TEXT_CSV.equals(ctype) || TEXT_HTML.equals(ctype) ||
+      isXML(ctype);
+  }
+
   /**
    * Extracts the content from a "Content-type" header.
    * @param ctype value for "Content-type" header
@@ -67,6 +67,30 @@ public final class StrStream extends AStr {
     }
   }
 
+  /**
+   * Returns a line-based input stream for the string.
+   * @param ii input info
+   * @return input stream
+   * @throws QueryException query exception
+   */
+  public NewlineInput lines(final InputInfo ii) throws QueryException {
+    NewlineInput nli = null;
+    try {
+      nli = new NewlineInput(input);
+      nli.encoding(encoding).validate(validate);
+      return nli;
+    } catch(final IOException ex) {
+      if(nli != null) {
+        try {
+          nli.close();
+        } catch(final IOException e) {
+          Util.debug(e);
+        }
+      }
+      throw error.get(ii, ex);
+    }
+  }
+
   @Override
   public Item materialize(final InputInfo ii) throws QueryException {
     return Str.get(string(ii));
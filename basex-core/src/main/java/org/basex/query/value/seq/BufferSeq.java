@@ -0,0 +1,205 @@
+package org.basex.query.value.seq;
+
+import static org.basex.query.util.Err.*;
+
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.query.value.type.SeqType.Occ;
+import org.basex.util.*;
+
+/**
+ * Sequence, containing at least two items, which are stored in a buffer that may be
+ * shared with other sequences.
+ *
+ * <p>Buffers have free space at both ends. If items are appended to the sequence that
+ * has last claimed the end of a buffer, or prepended to the sequence that has last
+ * claimed its start, they will be written to the free space, and the resulting sequence
+ * will share the buffer. Other sequences are not affected, as they never access the
+ * positions beyond their own boundaries. As a result, sequences that grow at one of their
+ * ends (e.g. in recursive functions or {@code fold-left} accumulators) are built in
+ * amortized constant time per item, and subsequences are created without copying.</p>
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class BufferSeq extends Seq {
+  /** Minimum number of items for which a buffer is created. */
+  private static final int MIN = 16;
+
+  /** Buffer. */
+  private final Buffer buffer;
+  /** Offset of the first item in the buffer. */
+  private final int start;
+
+  /**
+   * Constructor.
+   * @param b buffer
+   * @param st offset of the first item
+   * @param s size
+   * @param t type
+   */
+  private BufferSeq(final Buffer b, final int st, final long s, final Type t) {
+    super(s, t);
+    buffer = b;
+    start = st;
+  }
+
+  /**
+   * Concatenates two values. If the first or second value is a buffered sequence, the
+   * other value will be added to its buffer, if possible.
+   * @param v1 first value
+   * @param v2 second value
+   * @return resulting value
+   */
+  public static Value concat(final Value v1, final Value v2) {
+    final long s1 = v1.size(), s2 = v2.size(), s = s1 + s2;
+    if(s1 == 0) return v2;
+    if(s2 == 0) return v1;
+    // sequence is too large for an array buffer: use generic builder
+    if(s > Integer.MAX_VALUE) return new ValueBuilder().add(v1).add(v2).value();
+
+    final Type t1 = v1.type().type, t2 = v2.type().type, t = t1 == t2 ? t1 : AtomType.ITEM;
+    if(v1 instanceof BufferSeq) {
+      final Value v = ((BufferSeq) v1).append(v2, t);
+      if(v != null) return v;
+    }
+    if(v2 instanceof BufferSeq) {
+      final Value v = ((BufferSeq) v2).prepend(v1, t);
+      if(v != null) return v;
+    }
+
+    // small sequence: create flat array
+    final int n = (int) s;
+    if(n < MIN) {
+      final Item[] items = new Item[n];
+      v1.writeTo(items, 0);
+      v2.writeTo(items, (int) s1);
+      return Seq.get(items, n, t == AtomType.ITEM ? null : t);
+    }
+
+    // create new buffer. free space is reserved at the start if items were prepended
+    final int c = Math.max(n, Array.newSize(n));
+    final Item[] items = new Item[c];
+    final int st = v2 instanceof BufferSeq ? c - n : 0;
+    v1.writeTo(items, st);
+    v2.writeTo(items, st + (int) s1);
+    return new BufferSeq(new Buffer(items, st, st + n), st, n, t);
+  }
+
+  /**
+   * Returns a subsequence, which shares the buffer of this sequence.
+   * @param from starting index
+   * @param len length of the subsequence (at least 2)
+   * @return subsequence
+   */
+  Value sub(final long from, final long len) {
+    return new BufferSeq(buffer, start + (int) from, len, type);
+  }
+
+  /**
+   * Appends a value in the free space of the buffer.
+   * @param v value to be appended
+   * @param t type of the resulting sequence
+   * @return resulting sequence, or {@code null} if the value cannot be appended
+   */
+  private Value append(final Value v, final Type t) {
+    final long end = start + size, s = v.size();
+    synchronized(buffer) {
+      if(buffer.max != end || end + s > buffer.items.length) return null;
+      v.writeTo(buffer.items, (int) end);
+      buffer.max = (int) (end + s);
+    }
+    return new BufferSeq(buffer, start, size + s, t);
+  }
+
+  /**
+   * Prepends a value in the free space of the buffer.
+   * @param v value to be prepended
+   * @param t type of the resulting sequence
+   * @return resulting sequence, or {@code null} if the value cannot be prepended
+   */
+  private Value prepend(final Value v, final Type t) {
+    final long s = v.size(), st = start - s;
+    synchronized(buffer) {
+      if(buffer.min != start || st < 0) return null;
+      v.writeTo(buffer.items, (int) st);
+      buffer.min = (int) st;
+    }
+    return new BufferSeq(buffer, (int) st, size + s, t);
+  }
+
+  @Override
+  public Item ebv(final QueryContext ctx, final InputInfo ii) throws QueryException {
+    final Item it = itemAt(0);
+    if(it instanceof ANode) return it;
+    throw CONDTYPE.get(ii, this);
+  }
+
+  @Override
+  public SeqType type() {
+    return SeqType.get(type, Occ.ONE_MORE);
+  }
+
+  @Override
+  public boolean iterable() {
+    return false;
+  }
+
+  @Override
+  public boolean sameAs(final Expr cmp) {
+    if(!(cmp instanceof BufferSeq)) return false;
+    final BufferSeq bs = (BufferSeq) cmp;
+    return buffer == bs.buffer && start == bs.start && size == bs.size;
+  }
+
+  @Override
+  public int writeTo(final Item[] arr, final int st) {
+    System.arraycopy(buffer.items, start, arr, st, (int) size);
+    return (int) size;
+  }
+
+  @Override
+  public Item itemAt(final long pos) {
+    return buffer.items[start + (int) pos];
+  }
+
+  @Override
+  public boolean homogeneous() {
+    return type != AtomType.ITEM;
+  }
+
+  @Override
+  public Value reverse() {
+    final int s = (int) size;
+    final Item[] tmp = new Item[s];
+    for(int l = 0, r = start + s - 1; l < s; l++, r--) tmp[l] = buffer.items[r];
+    return get(tmp, s, type);
+  }
+
+  /** Item buffer. */
+  private static final class Buffer {
+    /** Items. */
+    final Item[] items;
+    /** Offset of the first claimed item. */
+    int min;
+    /** Offset after the last claimed item. */
+    int max;
+
+    /**
+     * Constructor.
+     * @param it items
+     * @param mn offset of the first claimed item
+     * @param mx offset after the last claimed item
+     */
+    Buffer(final Item[] it, final int mn, final int mx) {
+      items = it;
+      min = mn;
+      max = mx;
+    }
+  }
+}
@@ -42,6 +42,32 @@ public final class DblSeq extends NativeSeq {
     return values;
   }
 
+  /**
+   * Computes the sum of all values.
+   * @return sum
+   */
+  public Dbl sum() {
+    double rs = values[0];
+    final int s = values.length;
+    for(int v = 1; v < s; v++) rs += values[v];
+    return Dbl.get(rs);
+  }
+
+  /**
+   * Returns the item with the smallest or largest value.
+   * {@code NaN} is returned if the sequence contains a {@code NaN} value.
+   * @param min minimum or maximum
+   * @return item
+   */
+  public Dbl minmax(final boolean min) {
+    double rs = values[0];
+    for(final double v : values) {
+      if(Double.isNaN(v)) return Dbl.NAN;
+      if(min ? v < rs : v > rs) rs = v;
+    }
+    return Dbl.get(rs);
+  }
+
   @Override
   public Value reverse() {
     final int s = values.length;
@@ -62,6 +62,32 @@ public final class IntSeq extends NativeSeq {
     }
   }
 
+  /**
+   * Computes the sum of all values.
+   * @return sum, or {@code null} if the result exceeds the range of integers
+   */
+  public Int sum() {
+    long rs = 0;
+    for(final long v : values) {
+      if(v > 0 ? rs > Long.MAX_VALUE - v : rs < Long.MIN_VALUE - v) return null;
+      rs += v;
+    }
+    return Int.get(rs);
+  }
+
+  /**
+   * Returns the item with the smallest or largest value.
+   * @param min minimum or maximum
+   * @return item
+   */
+  public Int minmax(final boolean min) {
+    long rs = values[0];
+    for(final long v : values) {
+      if(min ? v < rs : v > rs) rs = v;
+    }
+    return Int.get(rs, type);
+  }
+
   @Override
   public Value reverse() {
     final int s = values.length;
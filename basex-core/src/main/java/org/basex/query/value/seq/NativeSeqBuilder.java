@@ -0,0 +1,88 @@
+package org.basex.query.value.seq;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.util.Array;
+
+/**
+ * This class builds sequences of integers or doubles, which are stored in their
+ * primitive representation (see {@link IntSeq} and {@link DblSeq}).
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class NativeSeqBuilder {
+  /** Integer values. */
+  private long[] longs;
+  /** Double values. */
+  private double[] doubles;
+  /** Number of values. */
+  private int size;
+
+  /**
+   * Constructor.
+   * @param dbl build doubles (otherwise, integers)
+   * @param c initial capacity
+   */
+  public NativeSeqBuilder(final boolean dbl, final int c) {
+    if(dbl) doubles = new double[c];
+    else longs = new long[c];
+  }
+
+  /**
+   * Adds an item, provided that it has the type of the resulting sequence.
+   * @param it item to be added
+   * @return {@code true} if the item was added
+   */
+  public boolean add(final Item it) {
+    if(doubles != null) {
+      if(!(it instanceof Dbl)) return false;
+      if(size == doubles.length) doubles = Arrays.copyOf(doubles, Array.newSize(size));
+      doubles[size++] = ((Dbl) it).dbl();
+    } else {
+      if(!(it instanceof Int) || it.type != AtomType.ITR) return false;
+      if(size == longs.length) longs = Arrays.copyOf(longs, Array.newSize(size));
+      longs[size++] = ((Int) it).itr();
+    }
+    return true;
+  }
+
+  /**
+   * Returns a value with all added items.
+   * @return value
+   */
+  public Value value() {
+    return doubles != null ?
+      DblSeq.get(size == doubles.length ? doubles : Arrays.copyOf(doubles, size)) :
+      IntSeq.get(size == longs.length ? longs : Arrays.copyOf(longs, size), AtomType.ITR);
+  }
+
+  /**
+   * Returns a value with all items of the specified iterator. If the items are
+   * integers or doubles, they will be stored in their primitive representation.
+   * @param iter iterator
+   * @param type expected type of the items
+   * @return value
+   * @throws QueryException query exception
+   */
+  public static Value value(final Iter iter, final Type type) throws QueryException {
+    final boolean dbl = type == AtomType.DBL;
+    if(!dbl && type != AtomType.ITR) return iter.value();
+
+    final NativeSeqBuilder nb = new NativeSeqBuilder(dbl,
+        Math.max(Array.CAPACITY, (int) iter.size()));
+    for(Item it; (it = iter.next()) != null;) {
+      if(nb.add(it)) continue;
+      // item of different type: fall back to generic representation
+      final ValueBuilder vb = new ValueBuilder().add(nb.value()).add(it);
+      while((it = iter.next()) != null) vb.add(it);
+      return vb.value();
+    }
+    return nb.value();
+  }
+}
@@ -3,6 +3,8 @@ package org.basex.query.value.seq;
 import static org.basex.query.QueryText.*;
 import static org.basex.query.util.Err.*;
 
+import java.math.*;
+
 import org.basex.query.*;
 import org.basex.query.expr.*;
 import org.basex.query.func.*;
@@ -82,6 +84,33 @@ public final class RangeSeq extends Seq {
     return Int.get(start + (asc ? pos : -pos));
   }
 
+  /**
+   * Computes the sum of all values.
+   * @return sum, or {@code null} if the result exceeds the range of integers
+   */
+  public Int sum() {
+    // partial sum calculation (Little Gauss)
+    final BigInteger s = BigInteger.valueOf(size).multiply(BigInteger.valueOf(min()).add(
+        BigInteger.valueOf(max()))).shiftRight(1);
+    return s.bitLength() < 64 ? Int.get(s.longValue()) : null;
+  }
+
+  /**
+   * Returns the smallest value.
+   * @return smallest value
+   */
+  public long min() {
+    return asc ? start : start - size + 1;
+  }
+
+  /**
+   * Returns the largest value.
+   * @return largest value
+   */
+  public long max() {
+    return asc ? start + size - 1 : start;
+  }
+
   @Override
   public Value reverse() {
     final long s = size();
@@ -33,6 +33,7 @@ public final class SubSeq extends Seq {
     if(n == vLen) return val;
     if(n <= 0) return Empty.SEQ;
     if(n == 1) return val.itemAt(from);
+    if(val instanceof BufferSeq) return ((BufferSeq) val).sub(from, n);
     if(val instanceof SubSeq) {
       final SubSeq sSeq = (SubSeq) val;
       return new SubSeq(sSeq.sub, sSeq.start + from, n);
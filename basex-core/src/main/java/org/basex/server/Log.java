@@ -18,7 +18,7 @@ import org.basex.util.*;
  *   <li><b>Time</b>: timestamp (format: {@code xs:time})</li>
  *   <li><b>Address</b>: host name and port of the requesting client</li>
  *   <li><b>User</b>: user name</li>
- *   <li><b>Type</b>: Type of logging message: REQUEST, OK or ERROR</li>
+ *   <li><b>Type</b>: Type of logging message: REQUEST, OK, ERROR or SLOW</li>
  *   <li><b>Info</b>: Logging message</li>
  *   <li><b>Performance</b>: Measured time in milliseconds</li>
  * </ul>
@@ -33,6 +33,8 @@ public final class Log {
   private static final String ERROR = "ERROR";
   /** REQUEST string. */
   public static final String REQUEST = "REQUEST";
+  /** SLOW string. */
+  public static final String SLOW = "SLOW";
 
   /** Global options. */
   private final GlobalOptions gopts;
@@ -6,6 +6,7 @@ import java.util.concurrent.*;
 
 import org.basex.util.*;
 import org.basex.util.list.*;
+import org.basex.util.metrics.*;
 
 /**
  * This class organizes all currently opened database sessions.
@@ -14,6 +15,24 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class Sessions extends CopyOnWriteArrayList<ClientListener> {
+  /** Number of active sessions. */
+  private static final Gauge ACTIVE = Metrics.gauge("basex_sessions",
+      "Number of active client sessions.");
+
+  @Override
+  public boolean add(final ClientListener cl) {
+    final boolean added = super.add(cl);
+    if(added) ACTIVE.inc();
+    return added;
+  }
+
+  @Override
+  public boolean remove(final Object cl) {
+    final boolean removed = super.remove(cl);
+    if(removed) ACTIVE.dec();
+    return removed;
+  }
+
   /**
    * Returns information about the currently opened sessions.
    * @return data reference
@@ -31,6 +31,8 @@ public final class FTLexer extends FTIterator implements IndexToken {
   private FTSpan curr;
   /** The last parsed text. */
   private byte[] ctxt;
+  /** Number of tokens of the current text ({@code -1}: not computed yet). */
+  private int count = -1;
 
   /**
    * Constructor, using the default full-text options. Called by the
@@ -87,6 +89,7 @@ public final class FTLexer extends FTIterator implements IndexToken {
    */
   public FTLexer sc() {
     tok.special = true;
+    count = -1;
     return this;
   }
 
@@ -94,11 +97,12 @@ public final class FTLexer extends FTIterator implements IndexToken {
    * Initializes the iterator.
    */
   public void init() {
-    init(text);
+    iter.init(text);
   }
 
   @Override
   public FTLexer init(final byte[] txt) {
+    count = -1;
     text = txt;
     iter.init(txt);
     return this;
@@ -122,17 +126,20 @@ public final class FTLexer extends FTIterator implements IndexToken {
   }
 
   /**
-   * Returns total number of tokens.
+   * Returns total number of tokens. The number is cached until a text is assigned.
    * @return token count
    */
   public int count() {
     init();
-    int c = 0;
-    while(hasNext()) {
-      nextToken();
-      c++;
+    if(count == -1) {
+      int c = 0;
+      while(hasNext()) {
+        nextToken();
+        c++;
+      }
+      count = c;
     }
-    return c;
+    return count;
   }
 
   @Override
@@ -0,0 +1,66 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Counter. Increments are distributed over several cells to reduce contention between
+ * threads; the cells are summed up when the value is requested.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class Counter extends Metric {
+  /** Number of cells (must be 1 << n). */
+  private static final int CELLS = 1 << 4;
+  /** Distance between two cells (avoids false sharing of cache lines). */
+  private static final int PAD = 8;
+
+  /** Cells. */
+  private final AtomicLongArray cells = new AtomicLongArray(CELLS * PAD);
+
+  /**
+   * Constructor.
+   * @param n name
+   * @param h description
+   * @param l name of the label (can be {@code null})
+   * @param v value of the label (can be {@code null})
+   */
+  Counter(final String n, final String h, final String l, final String v) {
+    super(n, h, l, v);
+  }
+
+  /**
+   * Increments the counter.
+   */
+  public void inc() {
+    add(1);
+  }
+
+  /**
+   * Adds the specified value to the counter.
+   * @param n value to be added
+   */
+  public void add(final long n) {
+    cells.getAndAdd((int) (Thread.currentThread().getId() & CELLS - 1) * PAD, n);
+  }
+
+  /**
+   * Returns the current value.
+   * @return value
+   */
+  public long get() {
+    long v = 0;
+    for(int c = 0; c < CELLS; c++) v += cells.get(c * PAD);
+    return v;
+  }
+
+  @Override
+  public String type() {
+    return "counter";
+  }
+
+  @Override
+  void prometheus(final StringBuilder sb) {
+    sample(sb, "", null, get());
+  }
+}
@@ -0,0 +1,57 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Gauge, representing a value that can go up and down.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class Gauge extends Metric {
+  /** Value. */
+  private final AtomicLong val = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param n name
+   * @param h description
+   * @param l name of the label (can be {@code null})
+   * @param v value of the label (can be {@code null})
+   */
+  Gauge(final String n, final String h, final String l, final String v) {
+    super(n, h, l, v);
+  }
+
+  /**
+   * Increments the value.
+   */
+  public void inc() {
+    val.incrementAndGet();
+  }
+
+  /**
+   * Decrements the value.
+   */
+  public void dec() {
+    val.decrementAndGet();
+  }
+
+  /**
+   * Returns the current value.
+   * @return value
+   */
+  public long get() {
+    return val.get();
+  }
+
+  @Override
+  public String type() {
+    return "gauge";
+  }
+
+  @Override
+  void prometheus(final StringBuilder sb) {
+    sample(sb, "", null, get());
+  }
+}
@@ -0,0 +1,147 @@
+package org.basex.util.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Histogram for durations, which are recorded in nanoseconds.
+ *
+ * <p>As in HDR histograms, the bucket sizes grow exponentially: each power of two is split
+ * into {@code 1 << SUB} linear sub-buckets. This way, values from nanoseconds to hours
+ * are recorded in a fixed number of buckets, with a relative error of at most 25%.</p>
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class Histogram extends Metric {
+  /** Number of bits used for sub-buckets. */
+  private static final int SUB = 2;
+  /** Number of buckets. */
+  private static final int BUCKETS = index(Long.MAX_VALUE) + 1;
+  /** Smallest and largest exponent of the buckets in the Prometheus output (1 µs, 34 s). */
+  private static final int MIN = 10, MAX = 35;
+
+  /** Bucket counts. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  /** Number of recorded values. */
+  private final AtomicLong count = new AtomicLong();
+  /** Sum of recorded values. */
+  private final AtomicLong sum = new AtomicLong();
+  /** Maximum value. */
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param n name
+   * @param h description
+   * @param l name of the label (can be {@code null})
+   * @param v value of the label (can be {@code null})
+   */
+  Histogram(final String n, final String h, final String l, final String v) {
+    super(n, h, l, v);
+  }
+
+  /**
+   * Records the time that has passed since the specified start time.
+   * @param start start time (result of {@link System#nanoTime()})
+   * @return recorded time
+   */
+  public long time(final long start) {
+    final long ns = System.nanoTime() - start;
+    record(ns);
+    return ns;
+  }
+
+  /**
+   * Records a value.
+   * @param ns value in nanoseconds
+   */
+  public void record(final long ns) {
+    final long v = Math.max(0, ns);
+    counts.incrementAndGet(index(v));
+    count.incrementAndGet();
+    sum.addAndGet(v);
+    for(long m; v > (m = max.get()) && !max.compareAndSet(m, v););
+  }
+
+  /**
+   * Returns the number of recorded values.
+   * @return count
+   */
+  public long count() {
+    return count.get();
+  }
+
+  /**
+   * Returns the sum of all recorded values.
+   * @return sum in nanoseconds
+   */
+  public long sum() {
+    return sum.get();
+  }
+
+  /**
+   * Returns the maximum of all recorded values.
+   * @return maximum in nanoseconds
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns an approximation of the specified quantile.
+   * @param q quantile (between {@code 0} and {@code 1})
+   * @return upper bound of the bucket containing the quantile, in nanoseconds
+   */
+  public long quantile(final double q) {
+    final long c = count.get();
+    if(c == 0) return 0;
+    final long rank = Math.max(1, (long) Math.ceil(q * c));
+    long n = 0;
+    for(int b = 0; b < BUCKETS; b++) {
+      n += counts.get(b);
+      if(n >= rank) return b + 1 < BUCKETS ? Math.min(max.get(), lower(b + 1) - 1) : max.get();
+    }
+    return max.get();
+  }
+
+  @Override
+  public String type() {
+    return "histogram";
+  }
+
+  @Override
+  void prometheus(final StringBuilder sb) {
+    // buckets: powers of two, in seconds
+    long n = 0;
+    int b = 0;
+    for(int e = MIN; e <= MAX; e++) {
+      for(final int l = index(1L << e); b < l; b++) n += counts.get(b);
+      sample(sb, "_bucket", "le=\"" + (double) (1L << e) / 1000000000 + '"', n);
+    }
+    sample(sb, "_bucket", "le=\"+Inf\"", count.get());
+    sample(sb, "_sum", null, (double) sum.get() / 1000000000);
+    sample(sb, "_count", null, count.get());
+  }
+
+  /**
+   * Returns the index of the bucket for the specified value.
+   * @param v value
+   * @return index
+   */
+  private static int index(final long v) {
+    if(v < 1 << SUB) return (int) v;
+    final int e = 63 - Long.numberOfLeadingZeros(v);
+    return (e - SUB + 1 << SUB) + (int) (v >>> e - SUB & (1 << SUB) - 1);
+  }
+
+  /**
+   * Returns the smallest value of the specified bucket.
+   * @param i index of the bucket
+   * @return value
+   */
+  private static long lower(final int i) {
+    if(i < 1 << SUB) return i;
+    final int e = (i >>> SUB) + SUB - 1;
+    return (long) ((1 << SUB) + (i & (1 << SUB) - 1)) << e - SUB;
+  }
+}
@@ -0,0 +1,75 @@
+package org.basex.util.metrics;
+
+/**
+ * Abstract metric. A metric has a name, a description and an optional label.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public abstract class Metric {
+  /** Name. */
+  public final String name;
+  /** Description. */
+  public final String help;
+  /** Name of the label ({@code null} if the metric has no label). */
+  public final String label;
+  /** Value of the label ({@code null} if the metric has no label). */
+  public final String value;
+
+  /**
+   * Constructor.
+   * @param n name
+   * @param h description
+   * @param l name of the label (can be {@code null})
+   * @param v value of the label (can be {@code null})
+   */
+  Metric(final String n, final String h, final String l, final String v) {
+    name = n;
+    help = h;
+    label = l;
+    value = v;
+  }
+
+  /**
+   * Returns the type of the metric.
+   * @return type
+   */
+  public abstract String type();
+
+  /**
+   * Adds the samples of this metric in the Prometheus text format.
+   * @param sb string builder
+   */
+  abstract void prometheus(final StringBuilder sb);
+
+  /**
+   * Adds a single sample in the Prometheus text format.
+   * @param sb string builder
+   * @param suffix suffix of the metric name
+   * @param labels additional labels (can be {@code null})
+   * @param sample sample
+   */
+  final void sample(final StringBuilder sb, final String suffix, final String labels,
+      final Object sample) {
+    sb.append(name).append(suffix);
+    if(label != null || labels != null) {
+      sb.append('{');
+      if(label != null) {
+        sb.append(label).append("=\"");
+        // escape backslashes, quotes and newlines
+        final int vl = value.length();
+        for(int c = 0; c < vl; c++) {
+          final char ch = value.charAt(c);
+          if(ch == '\\' || ch == '"') sb.append('\\').append(ch);
+          else if(ch == '\n') sb.append("\\n");
+          else sb.append(ch);
+        }
+        sb.append('"');
+        if(labels != null) sb.append(',');
+      }
+      if(labels != null) sb.append(labels);
+      sb.append('}');
+    }
+    sb.append(' ').append(sample).append('\n');
+  }
+}
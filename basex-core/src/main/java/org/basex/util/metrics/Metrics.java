@@ -0,0 +1,128 @@
+package org.basex.util.metrics;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Registry of all runtime metrics. Metrics are registered once, usually in static fields
+ * of the classes that update them, and they are shared by all database contexts of the
+ * running process.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class Metrics {
+  /** Registered metrics, indexed by their names and labels. */
+  private static final ConcurrentSkipListMap<String, Metric> METRICS =
+      new ConcurrentSkipListMap<>();
+
+  /** Private constructor. */
+  private Metrics() { }
+
+  /**
+   * Returns a counter.
+   * @param name name
+   * @param help description
+   * @return counter
+   */
+  public static Counter counter(final String name, final String help) {
+    return counter(name, help, null, null);
+  }
+
+  /**
+   * Returns a counter with the specified label.
+   * @param name name
+   * @param help description
+   * @param label name of the label (can be {@code null})
+   * @param value value of the label (can be {@code null})
+   * @return counter
+   */
+  public static Counter counter(final String name, final String help, final String label,
+      final String value) {
+    final String key = key(name, value);
+    final Metric m = METRICS.get(key);
+    if(m != null) return (Counter) m;
+    final Counter c = new Counter(name, help, label, value);
+    final Metric old = METRICS.putIfAbsent(key, c);
+    return old != null ? (Counter) old : c;
+  }
+
+  /**
+   * Returns a gauge.
+   * @param name name
+   * @param help description
+   * @return gauge
+   */
+  public static Gauge gauge(final String name, final String help) {
+    final String key = key(name, null);
+    final Metric m = METRICS.get(key);
+    if(m != null) return (Gauge) m;
+    final Gauge g = new Gauge(name, help, null, null);
+    final Metric old = METRICS.putIfAbsent(key, g);
+    return old != null ? (Gauge) old : g;
+  }
+
+  /**
+   * Returns a histogram.
+   * @param name name
+   * @param help description
+   * @return histogram
+   */
+  public static Histogram histogram(final String name, final String help) {
+    return histogram(name, help, null, null);
+  }
+
+  /**
+   * Returns a histogram with the specified label.
+   * @param name name
+   * @param help description
+   * @param label name of the label (can be {@code null})
+   * @param value value of the label (can be {@code null})
+   * @return histogram
+   */
+  public static Histogram histogram(final String name, final String help,
+      final String label, final String value) {
+    final String key = key(name, value);
+    final Metric m = METRICS.get(key);
+    if(m != null) return (Histogram) m;
+    final Histogram h = new Histogram(name, help, label, value);
+    final Metric old = METRICS.putIfAbsent(key, h);
+    return old != null ? (Histogram) old : h;
+  }
+
+  /**
+   * Returns all metrics, sorted by their names and labels.
+   * @return metrics
+   */
+  public static Collection<Metric> all() {
+    return METRICS.values();
+  }
+
+  /**
+   * Returns all metrics in the Prometheus text format.
+   * @return string
+   */
+  public static String prometheus() {
+    final StringBuilder sb = new StringBuilder();
+    String name = null;
+    for(final Metric m : METRICS.values()) {
+      if(!m.name.equals(name)) {
+        name = m.name;
+        sb.append("# HELP ").append(name).append(' ').append(m.help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(m.type()).append('\n');
+      }
+      m.prometheus(sb);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the key of a metric.
+   * @param name name
+   * @param value value of the label (can be {@code null})
+   * @return key
+   */
+  private static String key(final String name, final String value) {
+    return value == null ? name : name + '\0' + value;
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * <body>
+ * Runtime metrics.
+ * </body>
+ */
+package org.basex.util.metrics;
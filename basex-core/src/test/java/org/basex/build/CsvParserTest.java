@@ -108,6 +108,19 @@ public final class CsvParserTest extends SandboxTest {
     assertEquals("0", new XQuery("count(//Name)").execute(context));
   }
 
+  /**
+   * Adds a CSV file with different newline characters.
+   * @throws Exception exception
+   */
+  @Test
+  public void newlines() throws Exception {
+    write("A,B\r\n1,\"x\r\ny\"\r2,3\n\"\"\"\"");
+    new CreateDB(NAME, TEMP).execute(context);
+    assertEquals("3", new XQuery("count(//record)").execute(context));
+    assertEquals("x\ny", new XQuery("string((//B)[1])").execute(context));
+    assertEquals("\"", new XQuery("string((//A)[3])").execute(context));
+  }
+
   /**
    * Writes the specified test file.
    * @param data data to write
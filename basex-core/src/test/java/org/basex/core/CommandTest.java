@@ -128,6 +128,40 @@ public class CommandTest extends SandboxTest {
     ok(new DropBackup(NAME));
   }
 
+  /**
+   * Incremental backups.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test
+  public final void incrementalBackup() throws InterruptedException {
+    final String query = "count(db:open('" + NAME + "')//new) || " +
+        "db:exists('" + NAME + "', 'bin')";
+    ok(new CreateDB(NAME, FILE));
+    ok(new Set(MainOptions.INCBACKUP, true));
+    ok(new CreateBackup(NAME));
+    // names of backups have a precision of seconds
+    Thread.sleep(1000);
+    ok(new XQuery("insert node <new/> into db:open('" + NAME + "')/*"));
+    ok(new CreateBackup(NAME));
+    Thread.sleep(1000);
+    ok(new XQuery("db:store('" + NAME + "', 'bin', 'abc')"));
+    ok(new XQuery("delete node db:open('" + NAME + "')//new"));
+    ok(new CreateBackup(NAME));
+    ok(new Set(MainOptions.INCBACKUP, false));
+
+    // the backups are requested via the session, as they may be written by a server
+    final String list = ok(new XQuery("string-join(db:backups('" + NAME + "'), ' ')"));
+    final String[] backups = list.split(" ");
+    assertEquals(3, backups.length);
+    ok(new Restore(backups[1]));
+    assertEquals("1false", ok(new XQuery(query)));
+    ok(new Restore(backups[0]));
+    assertEquals("0true", ok(new XQuery(query)));
+    ok(new Restore(backups[2]));
+    assertEquals("0false", ok(new XQuery(query)));
+    ok(new DropBackup(NAME));
+  }
+
   /** Command test. */
   @Test
   public final void createDB() {
@@ -124,6 +124,49 @@ public final class LockingTest extends SandboxTest {
     th2.release();
   }
 
+  /**
+   * Fetch deferred write lock, then read lock.
+   * @throws InterruptedException Got interrupted.
+   */
+  @Test
+  public void deferredWriteReadTest() throws InterruptedException {
+    final CountDownLatch sync = new CountDownLatch(1), test = new CountDownLatch(1);
+    final LockTester th1 = new LockTester(null, NONE, objects, sync, true);
+    final LockTester th2 = new LockTester(sync, objects, NONE, test);
+
+    th1.start();
+    th2.start();
+    assertTrue("Thread 2 should be able to acquire lock.",
+        test.await(WAIT, TimeUnit.MILLISECONDS));
+    th1.upgrade();
+    assertFalse("Thread 1 shouldn't be able to upgrade lock yet.",
+        th1.upgraded.await(WAIT, TimeUnit.MILLISECONDS));
+    th2.release();
+    assertTrue("Thread 1 should be able to upgrade lock now.",
+        th1.upgraded.await(WAIT, TimeUnit.MILLISECONDS));
+    th1.release();
+  }
+
+  /**
+   * Fetch deferred write lock, then write lock.
+   * @throws InterruptedException Got interrupted.
+   */
+  @Test
+  public void deferredWriteWriteTest() throws InterruptedException {
+    final CountDownLatch sync = new CountDownLatch(1), test = new CountDownLatch(1);
+    final LockTester th1 = new LockTester(null, NONE, objects, sync, true);
+    final LockTester th2 = new LockTester(sync, NONE, objects, test);
+
+    th1.start();
+    th2.start();
+    assertFalse("Thread 2 shouldn't be able to acquire lock yet.",
+        test.await(WAIT, TimeUnit.MILLISECONDS));
+    th1.release();
+    assertTrue("Thread 2 should be able to acquire lock now.",
+        test.await(WAIT, TimeUnit.MILLISECONDS));
+    th2.release();
+  }
+
   /**
    * Fetch two read locks.
    * @throws InterruptedException Got interrupted.
@@ -563,8 +606,14 @@ public final class LockingTest extends SandboxTest {
     private final String[] readObjects;
     /** Array of objects to put write locks onto. */
     private final String[] writeObjects;
+    /** Defer write locks. */
+    private final boolean defer;
+    /** Latch to count down after deferred write locks have been acquired. */
+    final CountDownLatch upgraded = new CountDownLatch(1);
     /** Flag indicating to release locks after being notified. */
     private volatile boolean requestRelease;
+    /** Flag indicating to acquire deferred write locks after being notified. */
+    private volatile boolean requestUpgrade;
 
     /**
      * Setup locking thread. Call {@code start} to lock, notify the thread to unlock.
@@ -574,7 +623,21 @@ public final class LockingTest extends SandboxTest {
      * @param c Latch to count down after receiving locks
      */
     LockTester(final CountDownLatch a, final String[] r, final String[] w, final CountDownLatch c) {
+      this(a, r, w, c, false);
+    }
+
+    /**
+     * Setup locking thread. Call {@code start} to lock, notify the thread to unlock.
+     * @param a Latch to await
+     * @param r Strings to put read lock on
+     * @param w Strings to put write lock on
+     * @param c Latch to count down after receiving locks
+     * @param d defer write locks
+     */
+    LockTester(final CountDownLatch a, final String[] r, final String[] w, final CountDownLatch c,
+        final boolean d) {
       await = a;
+      defer = d;
       writing = w != null && w.length != 0;
       readObjects = r;
       writeObjects = w;
@@ -596,22 +659,41 @@ public final class LockingTest extends SandboxTest {
       final Command cmd = new Cmd(writing);
       locks.acquire(cmd,
         readObjects != null ? new StringList().add(readObjects) : null,
-        writeObjects != null ? new StringList().add(writeObjects) : null);
+        writeObjects != null ? new StringList().add(writeObjects) : null, defer);
 
       // We hold the lock, count down
       if(countDown != null) countDown.countDown();
 
-      // Wait until we're asked to release the lock
-      synchronized(this) {
-        try {
-          while(!requestRelease) wait();
-        } catch(final InterruptedException e) {
-          throw new RuntimeException("Unexpectedly interrupted.");
-        }
+      // Wait until we're asked to upgrade or release the lock
+      hold();
+      if(requestUpgrade) {
+        locks.upgrade();
+        upgraded.countDown();
+        hold();
       }
       locks.release(cmd);
     }
 
+    /**
+     * Waits until we're asked to upgrade or release the lock.
+     */
+    private synchronized void hold() {
+      try {
+        while(!requestRelease && (!requestUpgrade || upgraded.getCount() == 0)) wait();
+      } catch(final InterruptedException e) {
+        throw new RuntimeException("Unexpectedly interrupted.");
+      }
+    }
+
+    /**
+     * Acquire all deferred write locks. Set flag in object that locks should be upgraded
+     * and wake up all threads.
+     */
+    public synchronized void upgrade() {
+      requestUpgrade = true;
+      notifyAll();
+    }
+
     /**
      * Release all locks tester owns. {@code release} gets called by other threads, so it
      * cannot release locks directly (the thread holding the lock must do this). Set flag
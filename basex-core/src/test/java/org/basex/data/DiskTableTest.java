@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 
 import java.io.*;
 import java.lang.reflect.*;
+import java.util.*;
 
 import org.basex.build.*;
 import org.basex.core.*;
@@ -158,6 +159,160 @@ public final class DiskTableTest extends SandboxTest {
     }
   }
 
+  /**
+   * Tests the recovery of committed changes.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void recover() throws IOException {
+    final IOFile tbl = data.meta.dbfile(DataText.DATATBL);
+    final IOFile log = data.meta.dbfile(DataText.DATATBL + 'l');
+    final byte[] table = tbl.read();
+
+    // committed changes are only written to the log
+    tda.delete(3, 1);
+    tda.close();
+    assertTrue("Log was not written.", log.exists());
+    assertArrayEquals("Table was modified.", table, tbl.read());
+
+    // simulate crashed process: append an incomplete commit
+    final byte[] changes = log.read();
+    final int l = changes.length;
+    final byte[] incomplete = Arrays.copyOf(changes, l * 2 - 1);
+    System.arraycopy(changes, 0, incomplete, l, l - 1);
+    log.write(incomplete);
+    tda = new TableDiskAccess(data.meta, true);
+    assertEquals("One node deleted => size-1", size - 1, tdaSize());
+    assertEntrysEqual(0, 0, 3);
+    assertEntrysEqual(4, 3, size - 4);
+
+    // incomplete commit is overwritten by the next commit
+    tda.delete(3, 1);
+    closeAndReload();
+    assertEquals("Two nodes deleted => size-2", size - 2, tdaSize());
+    assertEntrysEqual(0, 0, 3);
+    assertEntrysEqual(5, 3, size - 5);
+  }
+
+  /**
+   * Writes the logged changes in place when the log exceeds its maximum size.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void checkpoint() throws IOException {
+    final IOFile tbl = data.meta.dbfile(DataText.DATATBL);
+    final IOFile log = data.meta.dbfile(DataText.DATATBL + 'l');
+
+    final int count = nodes * (int) (TableDiskAccess.CHECKPOINT / IO.BLOCKSIZE + 1);
+    tda.insert(4, getTestEntries(count));
+    tda.flush();
+    assertFalse("Log was not deleted.", log.exists());
+    assertTrue("Table was not written.", tbl.length() > TableDiskAccess.CHECKPOINT);
+    closeAndReload();
+    assertEquals(size + count, tdaSize());
+    assertEntrysEqual(0, 0, 4);
+    assertAreInserted(4, count);
+    assertEntrysEqual(4, 4 + count, size - 4);
+  }
+
+  /**
+   * Inserts more blocks than can be buffered. Blocks that are evicted from the buffers
+   * are read from the log until they are written in place.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void evict() throws IOException {
+    final IOFile tbl = data.meta.dbfile(DataText.DATATBL);
+    final byte[] table = tbl.read();
+
+    final int count = nodes * 40;
+    tda.insert(4, getTestEntries(count));
+    assertAreInserted(4, count);
+    tda.flush();
+    assertArrayEquals("Table was modified.", table, tbl.read());
+    assertEntrysEqual(0, 0, 4);
+    assertAreInserted(4, count);
+    assertEntrysEqual(4, 4 + count, size - 4);
+    closeAndReload();
+    assertEquals(size + count, tdaSize());
+    assertEntrysEqual(0, 0, 4);
+    assertAreInserted(4, count);
+    assertEntrysEqual(4, 4 + count, size - 4);
+  }
+
+  /**
+   * Syncs the log once for multiple commits.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void groupCommit() throws IOException {
+    tda.write1(0, 15, 1);
+    final long c1 = tda.commit();
+    tda.write1(nodes, 15, 2);
+    final long c2 = tda.commit();
+    assertEquals(0, synced());
+
+    // the log is synced for all commits that have been written so far
+    tda.sync(c1);
+    assertEquals(c2, synced());
+    tda.sync(c2);
+    assertEquals(c2, synced());
+  }
+
+  /**
+   * Commits changes in parallel and syncs the log after the table has been unlocked.
+   * @throws Exception exception
+   */
+  @Test
+  public void parallelCommits() throws Exception {
+    final int threads = 8, commits = 20;
+    final Thread[] ts = new Thread[threads];
+    final Throwable[] error = new Throwable[1];
+    for(int t = 0; t < threads; t++) {
+      final int th = t;
+      ts[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            for(int c = 0; c < commits; c++) {
+              final long commit;
+              synchronized(tda) {
+                tda.write1(th, 15, c);
+                commit = tda.commit();
+              }
+              tda.sync(commit);
+              assertTrue(synced() >= commit);
+            }
+          } catch(final Throwable ex) {
+            error[0] = ex;
+          }
+        }
+      };
+      ts[t].start();
+    }
+    for(final Thread t : ts) t.join();
+    assertNull(error[0]);
+    assertEquals(threads * commits, synced());
+
+    closeAndReload();
+    for(int t = 0; t < threads; t++) assertEquals(commits - 1, tda.read1(t, 15));
+  }
+
+  /**
+   * Returns the number of synced commits.
+   * @return number of commits
+   */
+  private long synced() {
+    try {
+      final Field f = tda.getClass().getDeclaredField("synced");
+      f.setAccessible(true);
+      return f.getLong(tda);
+    } catch(final Exception ex) {
+      Util.stack(ex);
+      return 0;
+    }
+  }
+
   /**
    * Tests delete.
    */
@@ -2,9 +2,12 @@ package org.basex.data;
 
 import static org.junit.Assert.*;
 
+import java.io.*;
 import java.util.*;
 
 import org.basex.index.*;
+import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 import org.junit.*;
 
@@ -102,6 +105,28 @@ public final class IdPreMapTest {
     }
   }
 
+  /**
+   * Correctness: randomly insert/delete value at random positions, and write and read the map.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void writeReadCorrectness() throws IOException {
+    final IOFile file = new IOFile(Prop.TMP + Util.className(IdPreMapTest.class));
+    try {
+      for(int i = 0, cnt = BASEID + 1, id = BASEID + 1; i < ITERATIONS; ++i) {
+        if(RANDOM.nextBoolean() || cnt == 0) insert(RANDOM.nextInt(++cnt), id++);
+        else delete(RANDOM.nextInt(cnt--));
+        if(i % 50 == 0) {
+          testedmap.write(file);
+          testedmap = new IdPreMap(file);
+        }
+        check();
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
   /** Insert performance: insert at random positions. */
   @Test
   public void insertPerformance() {
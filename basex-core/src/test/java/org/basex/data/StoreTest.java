@@ -40,6 +40,8 @@ public final class StoreTest extends SandboxTest {
     run(new Set(MainOptions.ATTRINDEX, true));
     run(new Set(MainOptions.AUTOFLUSH, true));
     run(new Set(MainOptions.UPDINDEX, false));
+    run(new Set(MainOptions.FTINDEX, false));
+    run(new Set(MainOptions.SHARETEXTS, false));
   }
 
   /**
@@ -96,6 +98,27 @@ public final class StoreTest extends SandboxTest {
     check(size);
   }
 
+  /**
+   * Updates texts that are shared by several nodes.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void shareTexts() throws BaseXException {
+    final String input = "<X><A>q</A><A>q</A><A>q</A><A>q</A></X>";
+    run(new CreateDB(NAME, input));
+    final long size = context.data().meta.dbfile(DataText.DATATXT).length();
+    run(new Set(MainOptions.SHARETEXTS, true));
+    run(new CreateDB(NAME, input));
+    // three texts are shared
+    assertEquals(size - 3 * 2, context.data().meta.dbfile(DataText.DATATXT).length());
+
+    run(new XQuery("replace value of node //A[1] with 'r'"));
+    run(new XQuery("delete node //A[2]/text()"));
+    run(new XQuery("replace node //A[3]/text() with 's'"));
+    assertEquals("r,,s,q", run(new XQuery("string-join(//A, ',')")));
+    run(new Set(MainOptions.SHARETEXTS, false));
+  }
+
   /**
    * Tests the {@link MainOptions#UPDINDEX} and {@link MainOptions#AUTOFLUSH} flags in
    * combination. Reaction on a bug (incremental value index was not correctly closed)
@@ -115,6 +138,41 @@ public final class StoreTest extends SandboxTest {
     assertEquals(input, run(new XQuery(query)));
   }
 
+  /**
+   * Tests the {@link MainOptions#UPDINDEX} flag in combination with the full-text index.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void updFTIndex() throws BaseXException {
+    run(new Set(MainOptions.FTINDEX, true));
+    run(new Set(MainOptions.UPDINDEX, true));
+    run(new CreateDB(NAME, "<X><A>a b</A><A>c d</A></X>"));
+    final String query = "count(//A[text() contains text '%'])";
+
+    run(new XQuery("insert node <A>a e</A> into /X"));
+    run(new XQuery("replace value of node /X/A[2] with 'e f'"));
+    assertEquals("true", run(new XQuery("db:info('" + NAME + "')//ftindex/text()")));
+    assertEquals("2", run(new XQuery(query.replace("%", "a"))));
+    assertEquals("0", run(new XQuery(query.replace("%", "c"))));
+    assertEquals("2", run(new XQuery(query.replace("%", "e"))));
+
+    // check persistence of updates
+    run(new Close());
+    run(new Open(NAME));
+    run(new XQuery("delete node /X/A[1]"));
+    assertEquals("1", run(new XQuery(query.replace("%", "a"))));
+    assertEquals("2", run(new XQuery(query.replace("%", "e"))));
+    assertEquals("1", run(new XQuery(query.replace("%", "f"))));
+    // tokens of deleted entries are not returned
+    assertEquals("a:1 e:2 f:1", run(new XQuery("string-join(ft:tokens('" + NAME + "') ! " +
+        "(. || ':' || @count), ' ')")));
+
+    // merge updates
+    run(new Optimize());
+    assertEquals("1", run(new XQuery(query.replace("%", "a"))));
+    assertEquals("2", run(new XQuery(query.replace("%", "e"))));
+  }
+
   /**
    * Tests if the size of the text store has not changed.
    * @param old old size
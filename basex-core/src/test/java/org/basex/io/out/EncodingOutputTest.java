@@ -0,0 +1,46 @@
+package org.basex.io.out;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.io.in.*;
+import org.junit.*;
+
+/**
+ * Test class for the EncodingOutput class.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class EncodingOutputTest {
+  /**
+   * Writes single bytes and arrays with bytes that need to be encoded.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void write() throws IOException {
+    final byte[] data = new byte[1000];
+    for(int d = 0; d < data.length; d++) data[d] = (byte) d;
+
+    final ArrayOutput single = new ArrayOutput(), bulk = new ArrayOutput();
+    final EncodingOutput eo = new EncodingOutput(single);
+    for(final byte b : data) eo.write(b);
+    new EncodingOutput(bulk).write(data, 0, data.length);
+    assertArrayEquals(single.toArray(), bulk.toArray());
+
+    // decode result
+    final ArrayOutput ao = new ArrayOutput();
+    bulk.write(0);
+    try(final DecodingInput di = new DecodingInput(new ArrayInput(bulk.toArray()))) {
+      for(int b; (b = di.read()) != -1;) ao.write(b);
+    }
+    assertArrayEquals(data, ao.toArray());
+
+    // write sub arrays
+    final ArrayOutput sub = new ArrayOutput();
+    new EncodingOutput(sub).write(data, 255, 2);
+    assertArrayEquals(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0 },
+        sub.toArray());
+  }
+}
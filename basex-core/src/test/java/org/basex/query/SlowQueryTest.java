@@ -0,0 +1,43 @@
+package org.basex.query;
+
+import static org.basex.query.func.Function.*;
+
+import org.basex.core.*;
+import org.junit.*;
+
+/**
+ * This class tests the logging of slow queries.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class SlowQueryTest extends AdvancedQueryTest {
+  /** Query for the slow log entries of the current day. */
+  private static final String SLOW = _ADMIN_LOGS.args(_ADMIN_LOGS.args() + "[last()]") +
+      "[@type = 'SLOW']";
+
+  /** Resets the threshold. */
+  @After
+  public void reset() {
+    context.globalopts.set(GlobalOptions.SLOWQUERY, 0);
+  }
+
+  /** Queries below and above the threshold. */
+  @Test
+  public void slow() {
+    // no queries are logged if the option is disabled
+    query(_PROF_SLEEP.args(300), "");
+    query(EXISTS.args(_ADMIN_LOGS.args()), "false");
+
+    context.globalopts.set(GlobalOptions.SLOWQUERY, 200);
+    query("1", "1");
+    query(_PROF_SLEEP.args(400), "");
+    query("count(" + SLOW + ')', "1");
+    query("count(" + SLOW + ')', "1");
+
+    // entry contains profile and plan of the query
+    query(SLOW + "/@ms > 200", "true");
+    query(SLOW + "/contains(., 'prof:sleep')", "true");
+    query(SLOW + "/contains(., 'Plan: <QueryPlan>')", "true");
+  }
+}
@@ -28,6 +28,24 @@ public final class FLWORTest extends AdvancedQueryTest {
     query("let $i := 1 group by $i, $i return $i", "1");
   }
 
+  /** Tests top-k sorting of ordered results. */
+  @Test
+  public void topKTest() {
+    query("subsequence(for $i in 1 to 100 order by $i mod 7 descending, $i return $i, 1, 5)",
+        "6 13 20 27 34");
+    query("subsequence(for $i in 1 to 100 order by $i mod 7 descending, $i return $i, 3, 4)",
+        "20 27 34 41");
+    query("subsequence(for $i in 1 to 10 order by $i descending return $i, 0, 2)", "10");
+    query("subsequence(for $i in 1 to 10 order by $i descending return $i, 8)", "3 2 1");
+    query("count(subsequence(for $i in 1 to 10 order by $i return ($i, $i), 1, 3))", "3");
+    // order of equal keys is retained
+    query("subsequence(for $i in 1 to 20 order by $i mod 3 return $i, 1, 8)",
+        "3 6 9 12 15 18 1 4");
+    query("subsequence(for $i in 1 to 1000 order by $i mod 2 descending return $i, 1, 3)",
+        "1 3 5");
+    query("subsequence(for $i in () order by $i return $i, 1, 3)", "");
+  }
+
   /**
    * Runs an updating query and matches the result of the second query
    * against the expected output.
@@ -27,6 +27,47 @@ public final class MixedTest extends AdvancedQueryTest {
     new DropDB(NAME).execute(context);
   }
 
+  /**
+   * Compares shared database texts with single items.
+   * @throws BaseXException exception
+   */
+  @Test
+  public void cmpSharedTexts() throws BaseXException {
+    new Set(MainOptions.SHARETEXTS, true).execute(context);
+    new Set(MainOptions.TEXTINDEX, false).execute(context);
+    new Set(MainOptions.ATTRINDEX, false).execute(context);
+    new CreateDB(NAME, "<a><b x='1'>A</b><b x='2'>B</b><b x='1'>A</b><b x='3'>C</b></a>").
+      execute(context);
+    new Set(MainOptions.SHARETEXTS, false).execute(context);
+    new Set(MainOptions.TEXTINDEX, true).execute(context);
+    new Set(MainOptions.ATTRINDEX, true).execute(context);
+
+    query("count(//b[text() = 'A'])", 2);
+    query("count(//b[@x = 1])", 2);
+    query("count(//b[text() != 'A'])", 2);
+    query("count((<a><b>A</b></a>, db:open('" + NAME + "'))//b[text() = 'A'])", 3);
+  }
+
+  /**
+   * Compares texts and attribute values with identical references.
+   * @throws BaseXException exception
+   */
+  @Test
+  public void cmpTextsAndAttributes() throws BaseXException {
+    final String doc = "<a><b x='abcdefgh' y='Z'>A</b></a>";
+    final String path = "//b/(@*|text())[. = 'A']";
+    new CreateDB(NAME, doc).execute(context);
+    query("count(db:open('" + NAME + "')" + path + ')', 1);
+    query("count(parse-xml(\"" + doc + "\")" + path + ')', 1);
+    new Set(MainOptions.MAINMEM, true).execute(context);
+    try {
+      new CreateDB(NAME, doc).execute(context);
+      query("count(db:open('" + NAME + "')" + path + ')', 1);
+    } finally {
+      new Set(MainOptions.MAINMEM, false).execute(context);
+    }
+  }
+
   /** Catches duplicate module import. */
   @Test
   public void duplImport() {
@@ -73,4 +73,15 @@ public final class FNAdminTest extends AdvancedQueryTest {
     query(_ADMIN_LOGS.args(), "");
     error(_ADMIN_LOGS.args("2001-01-01"), Err.IOERR);
   }
+
+  /**
+   * Test method.
+   */
+  @Test
+  public void metrics() {
+    // durations are recorded when a query is closed
+    query("1", "1");
+    query(_ADMIN_METRICS.args() + "[@name = 'basex_query_seconds']/@count > 0", "true");
+    query(_ADMIN_METRICS.args() + "[@name = 'basex_sessions']/@type/string()", "gauge");
+  }
 }
@@ -686,6 +686,30 @@ public final class FNDbTest extends AdvancedQueryTest {
     error(_DB_CREATE_BACKUP.args(NAME + 'x'), Err.BXDB_WHICH);
   }
 
+  /**
+   * db:create-backup test method: snapshots of pending backups are not deleted.
+   */
+  @Test
+  public void pendingBackup() {
+    final IOFile dbpath = context.globalopts.dbpath();
+    final String pending = NAME + "-2014-01-01-00-00-00";
+    final IOFile snap = new IOFile(dbpath, pending + ".snapshot");
+    final IOFile aborted = new IOFile(dbpath, NAME + "-2014-01-01-00-00-01.snapshot");
+    assertTrue(snap.md());
+    assertTrue(aborted.md());
+    context.databases.start(pending);
+    try {
+      query(_DB_CREATE_BACKUP.args(NAME));
+      assertTrue(snap.exists());
+      assertFalse(aborted.exists());
+    } finally {
+      context.databases.finish(pending);
+      snap.delete();
+    }
+    query(COUNT.args(_DB_BACKUPS.args(NAME)), "1");
+    query(_DB_DROP_BACKUP.args(NAME));
+  }
+
   /**
    * db:drop-backup test method.
    */
@@ -0,0 +1,109 @@
+package org.basex.query.func;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.util.*;
+import org.junit.*;
+
+import com.sun.net.httpserver.*;
+
+/**
+ * This class tests the HTTP Client with a local stub server.
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class FNHttpTest extends AdvancedQueryTest {
+  /** Number of elements in the XML response. */
+  private static final int ELEMENTS = 10000;
+  /** Remote addresses of the incoming requests. */
+  private static final HashSet<InetSocketAddress> CLIENTS = new HashSet<>();
+  /** Stub server. */
+  private static HttpServer server;
+  /** Server URL. */
+  private static String url;
+
+  /**
+   * Starts the stub server.
+   * @throws IOException I/O exception
+   */
+  @BeforeClass
+  public static void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange ex) throws IOException {
+        synchronized(CLIENTS) {
+          CLIENTS.add(ex.getRemoteAddress());
+        }
+        final String path = ex.getRequestURI().getPath();
+        final TokenBuilder tb = new TokenBuilder();
+        if(path.equals("/xml")) {
+          tb.add("<xml>");
+          for(int e = 0; e < ELEMENTS; e++) tb.add("<e>").addInt(e).add("</e>");
+          tb.add("</xml>");
+          ex.getResponseHeaders().add("Content-Type", "application/xml");
+        } else {
+          tb.add(path.substring(1));
+          ex.getResponseHeaders().add("Content-Type", "text/plain");
+        }
+        // send chunked response
+        ex.sendResponseHeaders(path.equals("/error") ? 500 : 200, 0);
+        try(final OutputStream os = ex.getResponseBody()) {
+          os.write(tb.finish());
+        }
+      }
+    });
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + '/';
+  }
+
+  /**
+   * Stops the stub server.
+   */
+  @AfterClass
+  public static void stop() {
+    server.stop(0);
+  }
+
+  /**
+   * Sends multiple requests, which are expected to reuse the same connection.
+   */
+  @Test
+  public void keepAlive() {
+    synchronized(CLIENTS) {
+      CLIENTS.clear();
+    }
+    for(int r = 0; r < 5; r++) query(request("text") + "[2]", "text");
+    query(request("error") + "[1]/@status/string()", "500");
+    query(request("xml") + "[2]/xml/e[1]/text()", "0");
+    query(request("text") + "[2]", "text");
+    synchronized(CLIENTS) {
+      assertEquals(1, CLIENTS.size());
+    }
+  }
+
+  /**
+   * Parses a chunked response.
+   */
+  @Test
+  public void chunked() {
+    query("count(" + request("xml") + "[2]/xml/e)", ELEMENTS);
+    query(request("xml") + "[2]/xml/e[last()]/text()", ELEMENTS - 1);
+  }
+
+  /**
+   * Returns a GET request for the specified path.
+   * @param path path
+   * @return query string
+   */
+  private static String request(final String path) {
+    return _HTTP_SEND_REQUEST.args("<http:request method='get'/>", url + path);
+  }
+}
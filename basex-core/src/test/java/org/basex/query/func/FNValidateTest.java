@@ -2,8 +2,14 @@ package org.basex.query.func;
 
 import static org.basex.query.func.Function.*;
 
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.io.*;
 import org.basex.query.util.*;
 import org.basex.query.*;
+import org.basex.util.*;
 import org.junit.*;
 
 /**
@@ -38,6 +44,12 @@ public final class FNValidateTest extends AdvancedQueryTest {
       "<xs:element name='root'/> " +
       "</xs:schema> " +
       "return validate:xsd($doc, $schema)", "");
+    // namespaced fragment; repeat validation to access cached schema
+    query(
+      "let $doc := <p:root xmlns:p='p'/> " +
+      "let $schema := <xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' " +
+      "targetNamespace='p'><xs:element name='root'/></xs:schema> " +
+      "return (1 to 2) ! validate:xsd($doc, $schema)", "");
 
     // invalid arguments
     error(_VALIDATE_XSD.args("unknown"), Err.WHICHRES);
@@ -51,6 +63,30 @@ public final class FNValidateTest extends AdvancedQueryTest {
         "return validate:xsd($doc, $schema)", Err.BXVA_FAIL);
   }
 
+  /**
+   * Test method.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void xsdInclude() throws IOException {
+    final IOFile main = new IOFile(sandbox(), "main.xsd");
+    final IOFile incl = new IOFile(sandbox(), "incl.xsd");
+    main.write(Token.token("<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+        "<xs:include schemaLocation='incl.xsd'/></xs:schema>"));
+    incl.write(Token.token("<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+        "<xs:element name='a'/></xs:schema>"));
+    query(_VALIDATE_XSD.args("<a/>", main.path()), "");
+    query(_VALIDATE_XSD.args("<a/>", main.path()), "");
+
+    // modify included schema: cached schema must be recompiled
+    final long time = incl.timeStamp();
+    incl.write(Token.token("<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>" +
+        "<xs:element name='b'/></xs:schema>"));
+    assertTrue(incl.file().setLastModified(time + 2000));
+    error(_VALIDATE_XSD.args("<a/>", main.path()), Err.BXVA_FAIL);
+    query(_VALIDATE_XSD.args("<b/>", main.path()), "");
+  }
+
   /** Test method. */
   @Test
   public void xsdInfo() {
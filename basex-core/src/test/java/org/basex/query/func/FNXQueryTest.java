@@ -1,9 +1,12 @@
 package org.basex.query.func;
 
 import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
 
+import org.basex.core.*;
 import org.basex.query.util.*;
 import org.basex.query.*;
+import org.basex.util.*;
 import org.junit.*;
 
 /**
@@ -69,6 +72,54 @@ public final class FNXQueryTest extends AdvancedQueryTest {
     error(_XQUERY_INVOKE.args("src/test/resources/xxx.xq"), Err.WHICHRES);
   }
 
+  /** Test method. */
+  @Test
+  public void forkJoin() {
+    query(_XQUERY_FORK_JOIN.args("()"), "");
+    query(_XQUERY_FORK_JOIN.args(" function() { 1 }"), "1");
+    query(_XQUERY_FORK_JOIN.args(" for $i in 1 to 10 return function() { $i * 2 }"),
+        "2 4 6 8 10 12 14 16 18 20");
+    query(_XQUERY_FORK_JOIN.args(" (function() { " +
+        _XQUERY_FORK_JOIN.args(" (function() { 1 }, function() { 2 })") + " }, " +
+        "function() { 3 })"), "1 2 3");
+    error(_XQUERY_FORK_JOIN.args(" (function() { 1 }, function() { error() })"),
+        Err.FUNERR1);
+    error(_XQUERY_FORK_JOIN.args(" function($a) { $a }"), Err.INVCAST);
+  }
+
+  /**
+   * Stops long-running functions that are evaluated in parallel.
+   * @throws Exception exception
+   */
+  @Test
+  public void forkJoinStop() throws Exception {
+    final String funcs = " (function() { (1 to 10000000000000)[.=0] }, " +
+        "function() { count((1 to 10000000000000)[.=0]) })";
+    // timeout of evaluated query
+    error(_XQUERY_EVAL.args('"' + _XQUERY_FORK_JOIN.args(funcs) + '"', " map{}",
+        " map{ 'timeout':'1'}"), Err.BXXQ_STOPPED);
+
+    // stopped query
+    final QueryProcessor qp = new QueryProcessor(_XQUERY_FORK_JOIN.args(funcs), context);
+    final Thread stopper = new Thread() {
+      @Override
+      public void run() {
+        Performance.sleep(500);
+        qp.ctx.stop();
+      }
+    };
+    stopper.start();
+    try {
+      qp.value();
+      fail("Query was not stopped.");
+    } catch(final ProcException ex) {
+      // expected
+    } finally {
+      stopper.join();
+      qp.close();
+    }
+  }
+
   /** Test method. */
   @Test
   public void type() {
@@ -3,7 +3,12 @@ package org.basex.query.func;
 import static org.basex.query.func.Function.*;
 import static org.junit.Assert.*;
 
+import java.io.*;
+
+import org.basex.io.*;
 import org.basex.query.*;
+import org.basex.query.util.*;
+import org.basex.util.*;
 import org.junit.*;
 
 /**
@@ -42,6 +47,21 @@ public final class FNXsltTest extends AdvancedQueryTest {
     query(_XSLT_TRANSFORM.args(doc, style, param), "<X>1</X>");
   }
 
+  /** Test method. */
+  @Test
+  public void transformNamespaces() {
+    final String doc = "<a xmlns:p='p'><p:b p:c='1'/></a>";
+    final String style = wrap("<xsl:template match='/'>" +
+        "<X xmlns:q='q'><q:Y/><xsl:copy-of select='*/*'/></X></xsl:template>");
+    // repeat transformation to access cached style sheet
+    for(int i = 0; i < 2; i++) {
+      query(_XSLT_TRANSFORM.args(doc, style),
+          "<X xmlns:q=\"q\"><q:Y/><p:b xmlns:p=\"p\" p:c=\"1\"/></X>");
+    }
+    error(_XSLT_TRANSFORM.args(doc, wrap("<xsl:template match='/'>" +
+        "<xsl:message terminate='yes'>!</xsl:message></xsl:template>")), Err.BXSL_ERROR);
+  }
+
   /** Test method. */
   @Test
   public void transformText() {
@@ -57,6 +77,28 @@ public final class FNXsltTest extends AdvancedQueryTest {
     query(_XSLT_TRANSFORM_TEXT.args(doc, style, param), "1");
   }
 
+  /**
+   * Test method.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void transformInclude() throws IOException {
+    final IOFile main = new IOFile(sandbox(), "main.xsl");
+    final IOFile incl = new IOFile(sandbox(), "incl.xsl");
+    main.write(Token.token(wrap("<xsl:include href='incl.xsl'/>" +
+        "<xsl:template match='/'><X><xsl:call-template name='t'/></X></xsl:template>")));
+    incl.write(Token.token(wrap("<xsl:template name='t'>1</xsl:template>")));
+    final String query = _XSLT_TRANSFORM.args("<a/>", main.path());
+    query(query, "<X>1</X>");
+    query(query, "<X>1</X>");
+
+    // modify included style sheet: cached style sheet must be recompiled
+    final long time = incl.timeStamp();
+    incl.write(Token.token(wrap("<xsl:template name='t'>2</xsl:template>")));
+    assertTrue(incl.file().setLastModified(time + 2000));
+    query(query, "<X>2</X>");
+  }
+
   /**
    * Wraps the specified string with an XSLT header and footer.
    * @param content content string
@@ -23,6 +23,14 @@ public final class FuncTest extends QueryTest {
       { "sum 3", itr(4611686016981624750L), "sum(1 to 3037000499)" },
       { "sum 4", itr(4611686020018625250L), "sum(1 to 3037000500)" },
       { "sum 5", itr(9223372034707292160L), "sum(1 to 4294967295)" },
+      { "sum 6", itr(6), "sum(0 to 3)" },
+      { "sum 7", itr(-15), "sum(reverse(-5 to -1))" },
+      { "sum 8", itr(110), "sum(for $i in 1 to 10 return $i * 2)" },
+      { "sum 9", dbl(13.75), "sum(for $i in 1 to 10 return $i div 4e0)" },
+      { "min 1", itr(-3), "min(reverse(-3 to 4))" },
+      { "min 2", itr(2), "min(for $i in 1 to 10 return $i * 2)" },
+      { "max 1", dbl(2.5), "max(for $i in 1 to 10 return $i div 4e0)" },
+      { "avg 1", dec(106.4), "avg(string-to-codepoints('hello'))" },
       { "distinct-values 2", itr(2),
         "count(distinct-values(//line/text()))" },
     };
@@ -485,6 +485,10 @@ public final class FTTest extends QueryTest {
         "'a b' <- 'a' entire content" },
       { "FTContent 27", bool(false),
         "'a b' <- 'b' entire content" },
+      { "FTContent 28", bool(true),
+        "'' contains text ftnot 'x' entire content" },
+      { "FTContent 29", bool(false),
+        "'a' contains text ftnot 'x' entire content" },
 
       { "FTMildNot 1", node(3, 5),
         "//w [text() <- 'xml' not in 'xml databases']" },
@@ -1184,4 +1184,44 @@ public final class UpdateTest extends AdvancedQueryTest {
     //error("declare function local:not-used() { local:b#0 };"
     //    + "declare %updating function local:b() { db:output('1') }; local:b()", Err.UPFUNCITEM);
   }
+
+  /**
+   * Updates several databases in parallel.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void parallel() throws BaseXException {
+    final int dbs = 8;
+    for(int d = 0; d < dbs; d++) new CreateDB(NAME + d, "<a/>").execute(context);
+    try {
+      query("for $d in 0 to " + (dbs - 1) + " return (" +
+          "insert node <b>{ $d }</b> into db:open('" + NAME + "' || $d)/a, " +
+          "rename node db:open('" + NAME + "' || $d)/a as 'c')");
+      query("string-join(for $d in 0 to " + (dbs - 1) + " return " +
+          "db:open('" + NAME + "' || $d)/c/b)", "01234567");
+    } finally {
+      for(int d = 0; d < dbs; d++) new DropDB(NAME + d).execute(context);
+    }
+  }
+
+  /**
+   * Updates several databases in parallel; one of the updates fails.
+   * @throws BaseXException database exception
+   */
+  @Test
+  public void parallelError() throws BaseXException {
+    final int dbs = 8;
+    for(int d = 0; d < dbs; d++) new CreateDB(NAME + d, "<a/>").execute(context);
+    try {
+      // the target of the last put operation is a directory
+      error("for $d in 0 to " + (dbs - 1) + " return (" +
+          "insert node <b/> into db:open('" + NAME + "' || $d)/a, " +
+          "if($d = " + (dbs - 1) + ") then put(db:open('" + NAME + "' || $d), '" +
+          sandbox().path() + "') else ())", Err.UPPUTERR);
+      // the databases can still be accessed
+      query("count(db:open('" + NAME + "0'))", "1");
+    } finally {
+      for(int d = 0; d < dbs; d++) new DropDB(NAME + d).execute(context);
+    }
+  }
 }
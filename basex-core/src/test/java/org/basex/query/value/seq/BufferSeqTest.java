@@ -0,0 +1,53 @@
+package org.basex.query.value.seq;
+
+import org.basex.query.*;
+import org.junit.*;
+
+/**
+ * Tests for sequences that are extended in place ({@link BufferSeq}).
+ *
+ * @author BaseX Team 2005-14, BSD License
+ * @author Christian Gruen
+ */
+public final class BufferSeqTest extends AdvancedQueryTest {
+  /** Appends and prepends items. */
+  @Test
+  public void concat() {
+    query("count(fold-left(1 to 100000, (), function($a, $x) { ($a, $x) }))", "100000");
+    query("fold-left(1 to 100, (), function($a, $x) { ($x, $a) })[1]", "100");
+    query("declare function local:f($a, $n) { if($n = 0) then $a else " +
+        "local:f(($a, $n), $n - 1) }; sum(local:f((), 10000))", "50005000");
+  }
+
+  /** Extends the same sequence more than once. */
+  @Test
+  public void shared() {
+    final String a = "let $a := fold-left(1 to 30, (), function($a, $x) { ($a, $x) }) ";
+    query(a + "let $b := ($a, 'x') let $c := ($a, 'y') return ($b[last()], $c[last()])",
+        "x y");
+    query(a + "let $b := (0, $a) let $c := (-1, $a) return ($b[1], $c[1], $a[1])", "0 -1 1");
+    query(a + "let $t := tail($a) let $u := ($t, 'u') let $v := ($t, 'v') " +
+        "return ($u[last()], $v[last()], $a[last()], count($u))", "u v 30 30");
+  }
+
+  /** Inserts and removes items. */
+  @Test
+  public void insertRemove() {
+    final String a = "let $a := fold-left(1 to 30, (), function($a, $x) { ($a, $x) }) ";
+    query(a + "return insert-before($a, 1, 0)[1]", "0");
+    query(a + "return insert-before($a, 31, 'x')[last()]", "x");
+    query(a + "return insert-before($a, 5, 'x')[position() = 4 to 6]", "4 x 5");
+    query(a + "return count(remove($a, 1))", "29");
+    query(a + "return remove($a, 30)[last()]", "29");
+    query(a + "return remove($a, 10)[10]", "11");
+    query(a + "return reverse($a)[1]", "30");
+  }
+
+  /** Checks the type of sequences. */
+  @Test
+  public void type() {
+    final String a = "fold-left(1 to 30, (), function($a, $x) { ($a, $x) })";
+    query(a + " instance of xs:integer+", "true");
+    query("(" + a + ", 'x') instance of xs:integer+", "false");
+  }
+}